@@ -1,53 +1,89 @@
 package ru.practicum.shareit.booking;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         @Value("${shareit-server.reactive:false}") boolean reactive,
+                         ObjectProvider<RestTemplateBuilder> restTemplateBuilder, WebClient.Builder webClientBuilder,
+                         ServerResponseCache responseCache) {
+        super(serverUrl + API_PREFIX, reactive, restTemplateBuilder, webClientBuilder, responseCache);
     }
 
-    public ResponseEntity<Object> create(long bookerId, BookItemRequestDto bookItemRequestDto) {
+    public Mono<ResponseEntity<Object>> create(long bookerId, BookItemRequestDto bookItemRequestDto) {
         return post("", bookerId, bookItemRequestDto);
     }
 
-    public ResponseEntity<Object> approveOrRejectBooking(long bookingId, boolean approved, long ownerId) {
+    public Mono<ResponseEntity<Object>> approveOrRejectBooking(long bookingId, boolean approved, long ownerId) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
     }
 
-    public ResponseEntity<Object> getBooking(long bookingId, long userId) {
+    public Mono<ResponseEntity<Object>> approveOrRejectBookings(BookingBatchRequestDto batchDto, boolean approved,
+                                                                long ownerId) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("/batch?approved={approved}", ownerId, parameters, batchDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(long bookingId, long userId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingsByBooker(BookingState state, long bookerId) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        return get("?state={state}", bookerId, parameters);
+    public Mono<ResponseEntity<Object>> getBookingsByBooker(BookingState state, LocalDateTime lastStart, Long lastId,
+                                                            int size, long bookerId) {
+        Map<String, Object> parameters = pageParameters(state, lastStart, lastId, size);
+        return get("?" + pageQuery(parameters), bookerId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getOwnerBookings(BookingState state, LocalDateTime lastStart, Long lastId,
+                                                         int size, long ownerId) {
+        Map<String, Object> parameters = pageParameters(state, lastStart, lastId, size);
+        return get("/owner?" + pageQuery(parameters), ownerId, parameters);
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, LocalDateTime lastStart, Long lastId,
+                                                      int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("size", size);
+        if (lastStart != null) {
+            parameters.put("lastStart", lastStart);
+        }
+        if (lastId != null) {
+            parameters.put("lastId", lastId);
+        }
+        return parameters;
     }
 
-    public ResponseEntity<Object> getOwnerBookings(BookingState state, long ownerId) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        return get("/owner?state={state}", ownerId, parameters);
+    private static String pageQuery(Map<String, Object> parameters) {
+        StringBuilder query = new StringBuilder("state={state}&size={size}");
+        if (parameters.containsKey("lastStart")) {
+            query.append("&lastStart={lastStart}");
+        }
+        if (parameters.containsKey("lastId")) {
+            query.append("&lastId={lastId}");
+        }
+        return query.toString();
     }
 }
\ No newline at end of file
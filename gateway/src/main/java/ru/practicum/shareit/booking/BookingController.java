@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,9 +16,13 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -24,48 +31,64 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody BookItemRequestDto bookingRequestDto,
-                                         @RequestHeader("X-Sharer-User-Id") long bookerId) {
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody BookItemRequestDto bookingRequestDto,
+                                               @RequestHeader("X-Sharer-User-Id") long bookerId) {
         log.info("Gateway: Create booking request received: {}", bookingRequestDto);
-        ResponseEntity<Object> createdBooking = bookingClient.create(bookerId, bookingRequestDto);
-        log.info("Gateway: Booking created successfully");
-        return createdBooking;
+        return bookingClient.create(bookerId, bookingRequestDto)
+                .doOnNext(createdBooking -> log.info("Gateway: Booking created successfully"));
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveOrRejectBooking(@PathVariable long bookingId,
-                                                         @RequestParam boolean approved,
-                                                         @RequestHeader("X-Sharer-User-Id") long ownerId) {
+    public Mono<ResponseEntity<Object>> approveOrRejectBooking(@PathVariable long bookingId,
+                                                               @RequestParam boolean approved,
+                                                               @RequestHeader("X-Sharer-User-Id") long ownerId) {
         log.info("Gateway: Approved booking request received: id = {}", bookingId);
-        ResponseEntity<Object> approvedBooking = bookingClient.approveOrRejectBooking(bookingId, approved, ownerId);
-        log.info("Gateway: Booking approved successfully");
-        return approvedBooking;
+        return bookingClient.approveOrRejectBooking(bookingId, approved, ownerId)
+                .doOnNext(approvedBooking -> log.info("Gateway: Booking approved successfully"));
+    }
+
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> approveOrRejectBookings(@Valid @RequestBody BookingBatchRequestDto batchDto,
+                                                                @RequestParam boolean approved,
+                                                                @RequestHeader("X-Sharer-User-Id") long ownerId) {
+        log.info("Gateway: Batch approve request received: ids = {}", batchDto.getBookingIds());
+        return bookingClient.approveOrRejectBookings(batchDto, approved, ownerId)
+                .doOnNext(results -> log.info("Gateway: Batch approve processed successfully"));
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@PathVariable long bookingId,
-                                             @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> getBooking(@PathVariable long bookingId,
+                                                   @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Gateway: Get booking request received: id = {}", bookingId);
-        ResponseEntity<Object> existingBooking = bookingClient.getBooking(bookingId, userId);
-        log.info("Gateway: Booking founded successfully");
-        return existingBooking;
+        return bookingClient.getBooking(bookingId, userId)
+                .doOnNext(existingBooking -> log.info("Gateway: Booking founded successfully"));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsByBooker(@RequestParam(defaultValue = "ALL") BookingState state,
-                                                      @RequestHeader("X-Sharer-User-Id") long bookerId) {
+    public Mono<ResponseEntity<Object>> getBookingsByBooker(@RequestParam(defaultValue = "ALL") BookingState state,
+                                                            @RequestParam(required = false)
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime lastStart,
+                                                            @RequestParam(required = false) Long lastId,
+                                                            @RequestParam(defaultValue = "20") @Positive @Max(100)
+                                                            int size,
+                                                            @RequestHeader("X-Sharer-User-Id") long bookerId) {
         log.info("Gateway: Get bookings by booker request received: bookerId = {}", bookerId);
-        ResponseEntity<Object> foundedBookings = bookingClient.getBookingsByBooker(state, bookerId);
-        log.info("Gateway: Bookings by booker founded successfully");
-        return foundedBookings;
+        return bookingClient.getBookingsByBooker(state, lastStart, lastId, size, bookerId)
+                .doOnNext(foundedBookings -> log.info("Gateway: Bookings by booker founded successfully"));
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getOwnerBookings(@RequestParam(defaultValue = "ALL") BookingState state,
-                                                   @RequestHeader("X-Sharer-User-Id") long ownerId) {
+    public Mono<ResponseEntity<Object>> getOwnerBookings(@RequestParam(defaultValue = "ALL") BookingState state,
+                                                         @RequestParam(required = false)
+                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                         LocalDateTime lastStart,
+                                                         @RequestParam(required = false) Long lastId,
+                                                         @RequestParam(defaultValue = "20") @Positive @Max(100)
+                                                         int size,
+                                                         @RequestHeader("X-Sharer-User-Id") long ownerId) {
         log.info("Gateway: Get bookings by owner request received: ownerId = {}", ownerId);
-        ResponseEntity<Object> foundedBookings = bookingClient.getOwnerBookings(state, ownerId);
-        log.info("Gateway: Bookings by owner founded successfully");
-        return foundedBookings;
+        return bookingClient.getOwnerBookings(state, lastStart, lastId, size, ownerId)
+                .doOnNext(foundedBookings -> log.info("Gateway: Bookings by owner founded successfully"));
     }
 }
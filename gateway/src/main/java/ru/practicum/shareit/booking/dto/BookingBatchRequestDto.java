@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BookingBatchRequestDto {
+    @NotEmpty(message = "Booking ids cannot be empty")
+    @Size(max = 100, message = "Batch cannot contain more than 100 bookings")
+    private List<@NotNull Long> bookingIds;
+}
@@ -1,121 +1,227 @@
 package ru.practicum.shareit.client;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
 
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    // Headers that describe the server connection rather than the response; the web server sets its own.
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "content-length");
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    protected final RestTemplate rest;
+    protected final WebClient webClient;
+    private final DefaultUriBuilderFactory uriBuilderFactory;
+    private final ServerResponseCache responseCache;
+
+    // In reactive mode (shareit-server.reactive) requests go through a non-blocking WebClient and no thread waits
+    // for the server; otherwise a blocking RestTemplate runs them in the calling thread on subscription.
+    // Either way the connections come from the pool of ShareItServerClientConfig, shared by all clients.
+    // RestTemplateBuilder is only auto-configured for the servlet stack, so it is looked up in blocking mode only.
+    // URIs are expanded here rather than by the clients, as the expanded URI is also the response cache key.
+    public BaseClient(String baseUrl, boolean reactive, ObjectProvider<RestTemplateBuilder> restTemplateBuilder,
+                      WebClient.Builder webClientBuilder, ServerResponseCache responseCache) {
+        this.uriBuilderFactory = new DefaultUriBuilderFactory(baseUrl);
+        this.responseCache = responseCache;
+        if (reactive) {
+            this.rest = null;
+            this.webClient = webClientBuilder.build();
+        } else {
+            this.rest = restTemplateBuilder.getObject().build();
+            this.webClient = null;
+        }
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId,
+                                                    @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId,
+                                                   @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId,
+                                                     @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    // The server's response is relayed as raw bytes with its status and headers, so the gateway never parses
+    // or re-serializes JSON; error responses are relayed the same way. GET responses go through the response
+    // cache; any other request may change its resource, so it drops the cached responses of that resource.
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body) {
+        URI uri = parameters != null ? uriBuilderFactory.expand(path, parameters) : uriBuilderFactory.expand(path);
+        if (method == HttpMethod.GET) {
+            return responseCache.get(new ServerResponseCache.Key(uri, userId),
+                    etag -> send(method, uri, userId, etag, body));
+        }
+        return send(method, uri, userId, null, body)
+                .doOnNext(response -> responseCache.invalidate(uri))
+                .doOnError(e -> responseCache.invalidate(uri));
+    }
+
+    private <T> Mono<ResponseEntity<Object>> send(HttpMethod method, URI uri, Long userId,
+                                                  @Nullable String ifNoneMatch, @Nullable T body) {
+        if (webClient != null) {
+            return exchange(method, uri, defaultHeaders(userId, ifNoneMatch), body);
+        }
+        return Mono.fromSupplier(() -> exchangeBlocking(method, uri, defaultHeaders(userId, ifNoneMatch), body));
+    }
+
+    private <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders requestHeaders,
+                                                      @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(uri)
+                .headers(headers -> headers.addAll(requestHeaders));
+        WebClient.RequestHeadersSpec<?> exchange = body != null ? request.bodyValue(body) : request;
+        return exchange.exchangeToMono(response -> {
+            HttpHeaders serverHeaders = response.headers().asHttpHeaders();
+            return response.bodyToMono(byte[].class)
+                    .map(bytes -> relay(response.statusCode(), serverHeaders, bytes))
+                    .switchIfEmpty(Mono.fromSupplier(() -> relay(response.statusCode(), serverHeaders, null)));
+        }).onErrorResume(BaseClient::isPoolExhausted, e -> Mono.just(poolExhausted()));
+    }
+
+    private <T> ResponseEntity<Object> exchangeBlocking(HttpMethod method, URI uri, HttpHeaders requestHeaders,
+                                                        @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, requestHeaders);
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
+            shareitServerResponse = rest.exchange(uri, method, requestEntity, byte[].class);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return relay(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        } catch (ResourceAccessException e) {
+            if (e.getCause() instanceof ConnectionRequestTimeoutException) {
+                return poolExhausted();
+            }
+            throw e;
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return relay(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    // No pooled connection to the server freed up within the lease timeout: the gateway is saturated, and the
+    // client should retry later rather than wait on a queue that keeps growing.
+    private static ResponseEntity<Object> poolExhausted() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        "description", "No connection to the shareit server is available, try again later"));
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    // Reactor Netty ships its pool exceptions only in a shaded internal package, so they are recognized by their
+    // public supertype (an acquire timeout is a TimeoutException) or by their simple name (the pending limit).
+    private static boolean isPoolExhausted(Throwable e) {
+        if (!(e instanceof WebClientRequestException)) {
+            return false;
+        }
+        Throwable cause = e.getCause();
+        return cause instanceof TimeoutException
+                || cause != null && cause.getClass().getSimpleName().equals("PoolAcquirePendingLimitException");
+    }
+
+    private HttpHeaders defaultHeaders(Long userId, @Nullable String ifNoneMatch) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static ResponseEntity<Object> relay(HttpStatusCode status, @Nullable HttpHeaders serverHeaders,
+                                                @Nullable byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.addAll(name, values);
+                }
+            });
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(headers);
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
-
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+}
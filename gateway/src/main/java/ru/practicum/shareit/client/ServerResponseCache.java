@@ -0,0 +1,132 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// GET responses of the shareit server, keyed by URI and X-Sharer-User-Id. Within its route's TTL an entry is
+// served without calling the server; after that it is revalidated with If-None-Match, and a 304 renews it
+// without the body crossing the network again. The controllers answer a client's matching If-None-Match
+// with 304 themselves, since the relayed response carries the server's ETag.
+@Component
+public class ServerResponseCache {
+    private static final String CACHE_NAME = "serverResponses";
+
+    private final Cache<Key, Entry> cache;
+    private final Duration defaultTtl;
+    private final Map<String, Duration> ttls;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    // Counts the writes seen so far. A response whose request overlapped a write may show the resource before
+    // the write, so it is returned but not stored.
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter fresh;
+    private final Counter revalidated;
+
+    public record Key(URI uri, Long userId) {
+    }
+
+    private record Entry(ResponseEntity<Object> response, long storedAt) {
+    }
+
+    public ServerResponseCache(ShareItServerClientProperties clientProperties, MeterRegistry meterRegistry) {
+        ShareItServerClientProperties.ResponseCache properties = clientProperties.getResponseCache();
+        this.defaultTtl = properties.getDefaultTtl();
+        this.ttls = Map.copyOf(properties.getTtl());
+        this.fresh = responseCounter(meterRegistry, "fresh");
+        this.revalidated = responseCounter(meterRegistry, "revalidated");
+        if (!properties.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterAccess(properties.getExpireAfterAccess())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // The exchange is called with the ETag to send as If-None-Match, or null for an unconditional request.
+    public Mono<ResponseEntity<Object>> get(Key key, Function<String, Mono<ResponseEntity<Object>>> exchange) {
+        if (cache == null) {
+            return exchange.apply(null);
+        }
+
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null && System.nanoTime() - cached.storedAt() < ttl(key.uri().getPath()).toNanos()) {
+            fresh.increment();
+            return Mono.just(cached.response());
+        }
+
+        long version = invalidations.get();
+        String etag = cached != null ? cached.response().getHeaders().getETag() : null;
+        return exchange.apply(etag).map(response -> {
+            if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                revalidated.increment();
+                store(key, cached.response(), version);
+                return cached.response();
+            }
+            if (response.getStatusCode().is2xxSuccessful() && response.getHeaders().getETag() != null) {
+                store(key, response, version);
+            } else {
+                cache.invalidate(key);
+            }
+            return response;
+        });
+    }
+
+    // A write shows in the resource it was made to and in the lists above it, e.g. a comment posted to
+    // /items/1/comment in /items/1 and /items; their responses are dropped for every user and query.
+    public void invalidate(URI resource) {
+        if (cache == null) {
+            return;
+        }
+
+        Set<String> paths = new HashSet<>();
+        for (String path = resource.getPath(); !path.isEmpty(); path = path.substring(0, path.lastIndexOf('/'))) {
+            paths.add(path);
+        }
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> paths.contains(key.uri().getPath()));
+    }
+
+    private void store(Key key, ResponseEntity<Object> response, long version) {
+        Entry entry = new Entry(response, System.nanoTime());
+        cache.put(key, entry);
+        if (invalidations.get() != version) {
+            cache.asMap().remove(key, entry);
+        }
+    }
+
+    // The most specific matching route pattern wins.
+    private Duration ttl(String path) {
+        return ttls.keySet().stream()
+                .filter(pattern -> pathMatcher.match(pattern, path))
+                .min(pathMatcher.getPatternComparator(path))
+                .map(ttls::get)
+                .orElse(defaultTtl);
+    }
+
+    private static Counter responseCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("shareit.gateway.cached.responses")
+                .description("GET responses served from the gateway cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
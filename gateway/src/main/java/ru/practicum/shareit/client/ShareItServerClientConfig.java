@@ -0,0 +1,112 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.IdleConnectionEvictor;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+// One connection pool for all clients of the shareit server. Its size, waiting requests and lease times are
+// published as httpcomponents.httpclient.pool.* (RestTemplate) or reactor.netty.connection.provider.* (WebClient)
+// metrics.
+@Configuration
+public class ShareItServerClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Configuration
+    @ConditionalOnProperty(name = "shareit-server.reactive", havingValue = "false", matchIfMissing = true)
+    static class Blocking {
+
+        @Bean
+        MeteredConnectionManager shareItServerConnectionManager(ShareItServerClientProperties properties,
+                                                                MeterRegistry meterRegistry) {
+            MeteredConnectionManager connectionManager = new MeteredConnectionManager(meterRegistry, POOL_NAME);
+            connectionManager.setMaxTotal(properties.getMaxTotal());
+            connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+            connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                    .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                    .setSocketTimeout(Timeout.of(properties.getResponseTimeout()))
+                    .build());
+            new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+            return connectionManager;
+        }
+
+        @Bean
+        CloseableHttpClient shareItServerHttpClient(MeteredConnectionManager connectionManager,
+                                                    ShareItServerClientProperties properties) {
+            return HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setConnectionManagerShared(true)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectionRequestTimeout(Timeout.of(properties.getLeaseTimeout()))
+                            .setResponseTimeout(Timeout.of(properties.getResponseTimeout()))
+                            .setConnectionKeepAlive(TimeValue.of(properties.getKeepAlive()))
+                            .build())
+                    .build();
+        }
+
+        @Bean(initMethod = "start", destroyMethod = "shutdown")
+        IdleConnectionEvictor shareItServerIdleConnectionEvictor(MeteredConnectionManager connectionManager,
+                                                                 ShareItServerClientProperties properties) {
+            return new IdleConnectionEvictor(connectionManager, TimeValue.of(properties.getIdleEviction()),
+                    TimeValue.of(properties.getKeepAlive()));
+        }
+
+        // Applied when a client builds its RestTemplate, after the builder's own request factory.
+        @Bean
+        RestTemplateCustomizer shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient) {
+            return restTemplate -> restTemplate.setRequestFactory(
+                    new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient));
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "shareit-server.reactive", havingValue = "true")
+    static class Reactive {
+
+        // Bounded waiting queue: once maxPending requests wait, further ones fail at once instead of queueing.
+        // Reactor Netty limits connections per remote address and has no overall limit; all clients call the one
+        // server, so its limit is maxPerRoute, capped by maxTotal.
+        @Bean(destroyMethod = "dispose")
+        ConnectionProvider shareItServerConnectionProvider(ShareItServerClientProperties properties) {
+            return ConnectionProvider.builder(POOL_NAME)
+                    .maxConnections(Math.min(properties.getMaxTotal(), properties.getMaxPerRoute()))
+                    .pendingAcquireMaxCount(properties.getMaxPending())
+                    .pendingAcquireTimeout(properties.getLeaseTimeout())
+                    .maxIdleTime(properties.getKeepAlive())
+                    .evictInBackground(properties.getIdleEviction())
+                    .metrics(true)
+                    .build();
+        }
+
+        // Picked up by the auto-configured WebClient.Builder in place of its default connector.
+        @Bean
+        ReactorClientHttpConnector shareItServerConnector(ConnectionProvider shareItServerConnectionProvider,
+                                                          ShareItServerClientProperties properties) {
+            return new ReactorClientHttpConnector(HttpClient.create(shareItServerConnectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                    .responseTimeout(properties.getResponseTimeout()));
+        }
+
+        // Server responses are relayed as whole byte arrays, so they must fit the codec's buffer.
+        @Bean
+        WebClientCustomizer shareItServerCodecs(ShareItServerClientProperties properties) {
+            return webClientBuilder -> webClientBuilder.codecs(codecs ->
+                    codecs.defaultCodecs().maxInMemorySize((int) properties.getMaxInMemorySize().toBytes()));
+        }
+    }
+}
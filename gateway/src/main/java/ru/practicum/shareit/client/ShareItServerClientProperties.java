@@ -0,0 +1,60 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Connection pool shared by every client of the shareit server, for RestTemplate and WebClient alike.
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class ShareItServerClientProperties {
+    private int maxTotal = 200;
+
+    // All clients call one server, so this is the limit that applies in practice.
+    private int maxPerRoute = 100;
+
+    // Requests allowed to wait for a connection at once; WebClient only, RestTemplate queues without a bound.
+    private int maxPending = 1000;
+
+    // How long a request waits for a pooled connection before it fails with 503 Service Unavailable.
+    private Duration leaseTimeout = Duration.ofSeconds(2);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    // Reuse window of an idle connection; below the server's own keep-alive timeout of 60 seconds.
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    // Interval of the background sweep that closes connections idle for longer than keepAlive.
+    private Duration idleEviction = Duration.ofSeconds(10);
+
+    // Largest response body WebClient buffers to relay; its codec default of 256 KB is exceeded by long lists.
+    private DataSize maxInMemorySize = DataSize.ofMegabytes(16);
+
+    private final ResponseCache responseCache = new ResponseCache();
+
+    @Getter
+    @Setter
+    public static class ResponseCache {
+        private boolean enabled;
+
+        private long maximumSize = 10_000;
+
+        // Entries neither served nor revalidated for this long are dropped.
+        private Duration expireAfterAccess = Duration.ofMinutes(10);
+
+        // How long a cached GET is served without asking the server; after that it is revalidated with
+        // If-None-Match. Zero revalidates every time, which never serves stale data.
+        private Duration defaultTtl = Duration.ZERO;
+
+        // Per-route overrides of defaultTtl, keyed by Ant-style pattern of the server path, e.g. /users/*.
+        private Map<String, Duration> ttl = new LinkedHashMap<>();
+    }
+}
@@ -1,16 +1,20 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -18,44 +22,71 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.reactive:false}") boolean reactive,
+                      ObjectProvider<RestTemplateBuilder> restTemplateBuilder, WebClient.Builder webClientBuilder,
+                      ServerResponseCache responseCache) {
+        super(serverUrl + API_PREFIX, reactive, restTemplateBuilder, webClientBuilder, responseCache);
     }
 
-    public ResponseEntity<Object> create(long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> update(long itemId, long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(long itemId, long userId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> get(long itemId, long userId) {
+    public Mono<ResponseEntity<Object>> get(long itemId, long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getItemsByUser(long userId) {
-        return get("", userId);
+    public Mono<ResponseEntity<Object>> getItemsByUser(Long lastId, int size, long userId) {
+        if (lastId == null) {
+            return get("?size={size}", userId, Map.of("size", size));
+        }
+        Map<String, Object> parameters = Map.of("lastId", lastId, "size", size);
+        return get("?lastId={lastId}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> delete(long itemId, long userId) {
+    public Mono<ResponseEntity<Object>> delete(long itemId, long userId) {
         return delete("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> search(String searchText) {
-        Map<String, Object> parameters = Map.of("text", searchText);
-        return get("/search?text={text}", null, parameters);
+    public Mono<ResponseEntity<Object>> search(String searchText, int from, int size, boolean fuzzy) {
+        Map<String, Object> parameters = Map.of("text", searchText, "from", from, "size", size, "fuzzy", fuzzy);
+        return get("/search?text={text}&from={from}&size={size}&fuzzy={fuzzy}", null, parameters);
     }
 
-    public ResponseEntity<Object> createComment(Long itemId, Long userId, CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> suggest(String prefix, int size) {
+        Map<String, Object> parameters = Map.of("prefix", prefix, "size", size);
+        return get("/suggest?prefix={prefix}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> createComment(Long itemId, Long userId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 
+    public Mono<ResponseEntity<Object>> getComments(long itemId, LocalDateTime lastCreated, Long lastId, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder query = new StringBuilder("?size={size}");
+        parameters.put("size", size);
+        if (lastCreated != null) {
+            parameters.put("lastCreated", lastCreated);
+            query.append("&lastCreated={lastCreated}");
+        }
+        if (lastId != null) {
+            parameters.put("lastId", lastId);
+            query.append("&lastId={lastId}");
+        }
+        return get("/" + itemId + "/comments" + query, null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of("from", from, "to", to);
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
+    }
+
 //    public ResponseEntity<Object> createComment(Long itemId, Long userId, CommentDto commentDto) {
 //        return post("/" + itemId, itemId, commentDto);
 //    }
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,9 +18,13 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/items")
 @Slf4j
@@ -25,64 +33,102 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @RequestBody @Valid ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @RequestBody @Valid ItemDto itemDto) {
         log.info("Gateway: Create item request received: {}", itemDto);
-        ResponseEntity<Object> createdItem = itemClient.create(userId, itemDto);
-        log.info("Gateway: Item created successfully");
-        return createdItem;
+        return itemClient.create(userId, itemDto)
+                .doOnNext(createdItem -> log.info("Gateway: Item created successfully"));
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId,
-                                         @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable long itemId,
+                                               @RequestHeader("X-Sharer-User-Id") long userId,
+                                               @RequestBody ItemDto itemDto) {
         log.info("Gateway: Update item request received: id = {}", itemId);
         log.debug("Gateway: Update item details: {}", itemDto);
-        ResponseEntity<Object> updatedItem = itemClient.update(itemId, userId, itemDto);
-        log.info("Gateway: Item updated successfully");
-        return updatedItem;
+        return itemClient.update(itemId, userId, itemDto)
+                .doOnNext(updatedItem -> log.info("Gateway: Item updated successfully"));
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> get(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Gateway: Get item request received: id = {}", itemId);
-        ResponseEntity<Object> existingItem = itemClient.get(itemId, userId);
-        log.info("Gateway: Item founded successfully");
-        return existingItem;
+        return itemClient.get(itemId, userId)
+                .doOnNext(existingItem -> log.info("Gateway: Item founded successfully"));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsByUser(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> getItemsByUser(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @RequestParam(required = false) Long lastId,
+                                                       @RequestParam(defaultValue = "20") @Positive @Max(100)
+                                                       int size) {
         log.info("Gateway: Get items by user request received: userId = {}", userId);
-        ResponseEntity<Object> foundedItems = itemClient.getItemsByUser(userId);
-        log.info("Gateway: Items founded successfully");
-        return foundedItems;
+        return itemClient.getItemsByUser(lastId, size, userId)
+                .doOnNext(foundedItems -> log.info("Gateway: Items founded successfully"));
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> delete(@PathVariable long itemId, @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable long itemId,
+                                               @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Gateway: Delete item request received: id = {}", itemId);
-        ResponseEntity<Object> deletedItem = itemClient.delete(itemId, userId);
-        log.info("Gateway: Item deleted successfully");
-        return deletedItem;
+        return itemClient.delete(itemId, userId)
+                .doOnNext(deletedItem -> log.info("Gateway: Item deleted successfully"));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam(value = "text", required = false) String searchText) {
-        log.info("Gateway: Search request received: text = {}", searchText);
-        ResponseEntity<Object> items = itemClient.search(searchText);
-        log.info("Gateway: Search completed successfully");
-        return items;
+    public Mono<ResponseEntity<Object>> search(@RequestParam(value = "text", required = false) String searchText,
+                                               @RequestParam(defaultValue = "0") @PositiveOrZero @Max(1000) int from,
+                                               @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+                                               @RequestParam(defaultValue = "false") boolean fuzzy) {
+        log.info("Gateway: Search request received: text = {}, from = {}, size = {}, fuzzy = {}", searchText, from,
+                size, fuzzy);
+        if (searchText == null || searchText.isBlank()) {
+            return Mono.just(ResponseEntity.ok(List.of()));
+        }
+        return itemClient.search(searchText, from, size, fuzzy)
+                .doOnNext(items -> log.info("Gateway: Search completed successfully"));
+    }
+
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<Object>> suggest(@RequestParam(required = false) String prefix,
+                                                @RequestParam(defaultValue = "10") @Positive @Max(10) int size) {
+        log.info("Gateway: Suggest request received: prefix = {}, size = {}", prefix, size);
+        if (prefix == null || prefix.isBlank()) {
+            return Mono.just(ResponseEntity.ok(List.of()));
+        }
+        return itemClient.suggest(prefix, size)
+                .doOnNext(suggestions -> log.info("Gateway: Suggestions found successfully"));
     }
 
     @PostMapping("{itemId}/comment")
-    public ResponseEntity<Object> createComment(
+    public Mono<ResponseEntity<Object>> createComment(
             @PathVariable Long itemId,
             @RequestHeader(value = "X-Sharer-User-Id") Long userId,
             @RequestBody CommentDto commentDto) {
         log.info("Gateway: Create comment request received: {}", commentDto);
-        ResponseEntity<Object> createdComment = itemClient.createComment(itemId, userId, commentDto);
-        log.info("Gateway: Comment created successfully");
-        return createdComment;
+        return itemClient.createComment(itemId, userId, commentDto)
+                .doOnNext(createdComment -> log.info("Gateway: Comment created successfully"));
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public Mono<ResponseEntity<Object>> getComments(@PathVariable long itemId,
+                                                    @RequestParam(required = false)
+                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                    LocalDateTime lastCreated,
+                                                    @RequestParam(required = false) Long lastId,
+                                                    @RequestParam(defaultValue = "20") @Positive @Max(100) int size) {
+        log.info("Gateway: Get comments request received: itemId = {}", itemId);
+        return itemClient.getComments(itemId, lastCreated, lastId, size)
+                .doOnNext(comments -> log.info("Gateway: Comments founded successfully"));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(
+            @PathVariable long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Gateway: Get item availability request received: id = {}, from = {}, to = {}", itemId, from, to);
+        return itemClient.getAvailability(itemId, from, to)
+                .doOnNext(freeSlots -> log.info("Gateway: Item availability calculated successfully"));
     }
 }
\ No newline at end of file
@@ -1,40 +1,41 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             @Value("${shareit-server.reactive:false}") boolean reactive,
+                             ObjectProvider<RestTemplateBuilder> restTemplateBuilder,
+                             WebClient.Builder webClientBuilder,
+                             ServerResponseCache responseCache) {
+        super(serverUrl + API_PREFIX, reactive, restTemplateBuilder, webClientBuilder, responseCache);
     }
 
-    public ResponseEntity<Object> create(long userId, ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> create(long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> get(long requestId, long userId) {
+    public Mono<ResponseEntity<Object>> get(long requestId, long userId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getItemRequestsByUser(long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestsByUser(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getOtherUsersRequests(long userId) {
+    public Mono<ResponseEntity<Object>> getOtherUsersRequests(long userId) {
         return get("/all", userId);
     }
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 @RestController
@@ -21,35 +22,33 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @RequestBody @Valid ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @RequestBody @Valid ItemRequestDto itemRequestDto) {
         log.info("Gateway: Create ItemRequest request received: {}", itemRequestDto);
-        ResponseEntity<Object> createdItemRequest = itemRequestClient.create(userId, itemRequestDto);
-        log.info("Gateway: ItemRequest created successfully");
-        return createdItemRequest;
+        return itemRequestClient.create(userId, itemRequestDto)
+                .doOnNext(createdItemRequest -> log.info("Gateway: ItemRequest created successfully"));
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> get(@PathVariable long requestId, @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable long requestId,
+                                            @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Gateway: Get itemRequest request received: id = {}", requestId);
-        ResponseEntity<Object> existingItemRequest = itemRequestClient.get(requestId, userId);
-        log.info("Gateway: ItemRequest found successfully");
-        return existingItemRequest;
+        return itemRequestClient.get(requestId, userId)
+                .doOnNext(existingItemRequest -> log.info("Gateway: ItemRequest found successfully"));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemRequestsByUser(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestsByUser(@RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Gateway: Get ItemRequests by user request received: userId = {}", userId);
-        ResponseEntity<Object> retrievedItemRequests = itemRequestClient.getItemRequestsByUser(userId);
-        log.info("Gateway: ItemRequests found successfully");
-        return retrievedItemRequests;
+        return itemRequestClient.getItemRequestsByUser(userId)
+                .doOnNext(retrievedItemRequests -> log.info("Gateway: ItemRequests found successfully"));
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getOtherUsersRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<Object>> getOtherUsersRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Gateway: Received request to get item requests of other users. Current userId: {}", userId);
-        ResponseEntity<Object> retrievedItemRequests = itemRequestClient.getOtherUsersRequests(userId);
-        log.info("Gateway: Successfully retrieved item requests for other users. Current userId: {}", userId);
-        return retrievedItemRequests;
+        return itemRequestClient.getOtherUsersRequests(userId)
+                .doOnNext(retrievedItemRequests -> log.info(
+                        "Gateway: Successfully retrieved item requests for other users. Current userId: {}", userId));
     }
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @RestController
@@ -22,43 +23,38 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestBody @Valid UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestBody @Valid UserDto userDto) {
         log.info("Gateway: Create user request received: {}", userDto);
-        ResponseEntity<Object> createdUser = userClient.create(userDto);
-        log.info("Gateway: User created successfully");
-        return createdUser;
+        return userClient.create(userDto)
+                .doOnNext(createdUser -> log.info("Gateway: User created successfully"));
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@RequestBody UserDto userDto, @PathVariable long userId) {
+    public Mono<ResponseEntity<Object>> update(@RequestBody UserDto userDto, @PathVariable long userId) {
         log.info("Gateway: Update user request received: id = {}", userId);
         log.debug("Gateway: Update user details: {}", userDto);
-        ResponseEntity<Object> updatedUser = userClient.update(userDto, userId);
-        log.info("Gateway: User updated successfully");
-        return updatedUser;
+        return userClient.update(userDto, userId)
+                .doOnNext(updatedUser -> log.info("Gateway: User updated successfully"));
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> get(@PathVariable long userId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable long userId) {
         log.info("Gateway: Get user request received: id = {}", userId);
-        ResponseEntity<Object> existingUser = userClient.get(userId);
-        log.info("Gateway: User found successfully");
-        return existingUser;
+        return userClient.get(userId)
+                .doOnNext(existingUser -> log.info("Gateway: User found successfully"));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         log.info("Gateway: Get all users request received");
-        ResponseEntity<Object> allUsers = userClient.getAll();
-        log.info("Gateway: All users found successfully");
-        return allUsers;
+        return userClient.getAll()
+                .doOnNext(allUsers -> log.info("Gateway: All users found successfully"));
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> delete(@PathVariable long userId) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable long userId) {
         log.info("Gateway: Delete user request received: id = {}", userId);
-        ResponseEntity<Object> deletedUser = userClient.delete(userId);
-        log.info("Gateway: User deleted successfully");
-        return deletedUser;
+        return userClient.delete(userId)
+                .doOnNext(deletedUser -> log.info("Gateway: User deleted successfully"));
     }
 }
\ No newline at end of file
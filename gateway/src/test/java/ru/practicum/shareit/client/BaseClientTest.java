@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Relays through WebClient from a stub shareit server, over a pool of one connection and one waiting request.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "shareit-server.reactive=true",
+        "shareit-server.http-client.max-per-route=1",
+        "shareit-server.http-client.max-pending=1"
+})
+class BaseClientTest {
+    // Larger than the codec's default buffer of 256 KB.
+    private static final byte[] LARGE_BODY = ("[{\"id\":1,\"name\":\"" + "x".repeat(300 * 1024) + "\"}]")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static HttpServer server;
+
+    @Autowired
+    private UserClient userClient;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, LARGE_BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(LARGE_BODY);
+            }
+        });
+        server.createContext("/users/1", exchange -> {
+            byte[] user = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, user.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(user);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @Test
+    void getAll_withLargeBody_shouldRelayWholeBody() {
+        ResponseEntity<Object> response = userClient.getAll().block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((byte[]) response.getBody()).isEqualTo(LARGE_BODY);
+    }
+
+    // One request holds the connection and one waits for it; the third is over the pending limit.
+    @Test
+    void get_overPendingLimit_shouldReturnServiceUnavailable() {
+        List<HttpStatusCode> statuses = Flux.range(0, 3)
+                .flatMap(i -> userClient.get(1L))
+                .map(ResponseEntity::getStatusCode)
+                .collectList()
+                .block();
+
+        assertThat(statuses).containsExactlyInAnyOrder(HttpStatus.OK, HttpStatus.OK, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
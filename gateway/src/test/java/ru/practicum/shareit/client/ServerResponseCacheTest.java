@@ -0,0 +1,130 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerResponseCacheTest {
+    private static final URI USER = URI.create("http://localhost:9090/users/1");
+    private static final URI OTHER_USER = URI.create("http://localhost:9090/users/2");
+    private static final URI ITEM = URI.create("http://localhost:9090/items/1");
+
+    private ShareItServerClientProperties properties;
+    private ServerResponseCache cache;
+    // The If-None-Match of every request the stub server received, null for an unconditional one.
+    private final List<String> conditions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new ShareItServerClientProperties();
+        properties.getResponseCache().setEnabled(true);
+        properties.getResponseCache().getTtl().put("/items/*", Duration.ofMinutes(1));
+        cache = new ServerResponseCache(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_withinTtl_shouldNotCallServer() {
+        ResponseEntity<Object> first = get(ITEM, 1L, "\"v1\"", "item");
+        ResponseEntity<Object> second = get(ITEM, 1L, "\"v1\"", "item");
+
+        assertThat(conditions).containsExactly((String) null);
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void get_afterTtl_shouldRevalidateAndKeepCachedBodyOnNotModified() {
+        ResponseEntity<Object> first = get(USER, 1L, "\"v1\"", "user");
+        ResponseEntity<Object> second = get(USER, 1L, "\"v1\"", "user");
+
+        assertThat(conditions).containsExactly(null, "\"v1\"");
+        assertThat(second).isSameAs(first);
+        assertThat(body(second)).isEqualTo("user");
+    }
+
+    @Test
+    void get_afterTtl_shouldReplaceChangedResponse() {
+        get(USER, 1L, "\"v1\"", "user");
+        ResponseEntity<Object> changed = get(USER, 1L, "\"v2\"", "renamed user");
+        get(USER, 1L, "\"v2\"", "renamed user");
+
+        assertThat(conditions).containsExactly(null, "\"v1\"", "\"v2\"");
+        assertThat(body(changed)).isEqualTo("renamed user");
+    }
+
+    @Test
+    void get_forAnotherSharer_shouldNotShareResponse() {
+        get(ITEM, 1L, "\"v1\"", "item");
+        get(ITEM, 2L, "\"v1\"", "item");
+
+        assertThat(conditions).containsExactly(null, null);
+    }
+
+    @Test
+    void invalidate_shouldDropResourceAndListsAboveItOnly() {
+        get(USER, null, "\"v1\"", "user");
+        get(OTHER_USER, null, "\"v1\"", "other user");
+        get(URI.create("http://localhost:9090/users"), null, "\"v1\"", "users");
+
+        cache.invalidate(USER);
+        get(USER, null, "\"v1\"", "user");
+        get(OTHER_USER, null, "\"v1\"", "other user");
+        get(URI.create("http://localhost:9090/users"), null, "\"v1\"", "users");
+
+        assertThat(conditions).containsExactly(null, null, null, null, "\"v1\"", null);
+    }
+
+    @Test
+    void get_overlappingWrite_shouldNotStoreResponse() {
+        cache.get(new ServerResponseCache.Key(ITEM, 1L), etag -> {
+            conditions.add(etag);
+            cache.invalidate(ITEM);
+            return Mono.just(response("\"v1\"", "item"));
+        }).block();
+        get(ITEM, 1L, "\"v1\"", "item");
+
+        assertThat(conditions).containsExactly(null, null);
+    }
+
+    @Test
+    void get_whenDisabled_shouldAlwaysCallServer() {
+        properties.getResponseCache().setEnabled(false);
+        cache = new ServerResponseCache(properties, new SimpleMeterRegistry());
+
+        get(ITEM, 1L, "\"v1\"", "item");
+        get(ITEM, 1L, "\"v1\"", "item");
+
+        assertThat(conditions).containsExactly(null, null);
+    }
+
+    // The stub server answers 304 when the condition matches its current ETag.
+    private ResponseEntity<Object> get(URI uri, Long userId, String etag, String body) {
+        Function<String, Mono<ResponseEntity<Object>>> exchange = ifNoneMatch -> {
+            conditions.add(ifNoneMatch);
+            if (etag.equals(ifNoneMatch)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+            }
+            return Mono.just(response(etag, body));
+        };
+        return cache.get(new ServerResponseCache.Key(uri, userId), exchange).block();
+    }
+
+    private static ResponseEntity<Object> response(String etag, String body) {
+        return ResponseEntity.ok().eTag(etag).body(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,10 +13,13 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -44,6 +48,17 @@ private final BookingService bookingService;
         return approvedBooking;
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> approveOrRejectBookings(@Valid @RequestBody BookingBatchRequestDto batchDto,
+                                                                  @RequestParam boolean approved,
+                                                                  @RequestHeader("X-Sharer-User-Id") long ownerId) {
+        log.info("Batch approve request received: ids = {}", batchDto.getBookingIds());
+        List<BookingDecisionResultDto> results = bookingService.approveOrRejectBookings(batchDto.getBookingIds(),
+                ownerId, approved);
+        log.info("Batch approve processed successfully");
+        return results;
+    }
+
     @GetMapping("/{bookingId}")
     public BookingResponseDto getBooking(@PathVariable long bookingId,
                                          @RequestHeader("X-Sharer-User-Id") long userId) {
@@ -55,18 +70,30 @@ private final BookingService bookingService;
 
     @GetMapping
     public List<BookingResponseDto> getBookingsByBooker(@RequestParam(defaultValue = "ALL") BookingState state,
+                                                    @RequestParam(required = false)
+                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                    LocalDateTime lastStart,
+                                                    @RequestParam(required = false) Long lastId,
+                                                    @RequestParam(defaultValue = "20") int size,
                                                     @RequestHeader("X-Sharer-User-Id") long bookerId) {
         log.info("Get bookings by booker request received: bookerId = {}", bookerId);
-        List<BookingResponseDto> foundedBookings = bookingService.getAllBookingsByBooker(bookerId, state);
+        List<BookingResponseDto> foundedBookings = bookingService.getAllBookingsByBooker(bookerId, state,
+                lastStart, lastId, size);
         log.info("Bookings by booker founded successfully");
         return foundedBookings;
     }
 
     @GetMapping("/owner")
     public List<BookingResponseDto> getOwnerBookings(@RequestParam(defaultValue = "ALL") BookingState state,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime lastStart,
+                                                     @RequestParam(required = false) Long lastId,
+                                                     @RequestParam(defaultValue = "20") int size,
                                                      @RequestHeader("X-Sharer-User-Id") long ownerId) {
         log.info("Get bookings by owner request received: ownerId = {}", ownerId);
-        List<BookingResponseDto> foundedBookings = bookingService.getAllBookingsByOwner(ownerId, state);
+        List<BookingResponseDto> foundedBookings = bookingService.getAllBookingsByOwner(ownerId, state,
+                lastStart, lastId, size);
         log.info("Bookings by owner founded successfully");
         return foundedBookings;
     }
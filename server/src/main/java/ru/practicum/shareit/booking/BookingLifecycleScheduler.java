@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
+
+import java.time.LocalDateTime;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "shareit.booking.lifecycle", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class BookingLifecycleScheduler {
+    private final BookingService bookingService;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final int batchSize;
+
+    public BookingLifecycleScheduler(BookingService bookingService,
+                                     ItemBookingSummaryService itemBookingSummaryService,
+                                     @Value("${shareit.booking.lifecycle.batch-size:500}") int batchSize) {
+        this.bookingService = bookingService;
+        this.itemBookingSummaryService = itemBookingSummaryService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.lifecycle.expiry-interval:PT1M}")
+    public void expireWaitingBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        int batch;
+        do {
+            batch = bookingService.expireWaitingBookings(now, batchSize);
+            expired += batch;
+        } while (batch == batchSize);
+
+        if (expired > 0) {
+            log.info("Expired {} waiting bookings that started before {}", expired, now);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.lifecycle.summary-interval:PT1M}")
+    public void refreshItemBookingSummaries() {
+        LocalDateTime now = LocalDateTime.now();
+        int refreshed = 0;
+        int batch;
+        do {
+            batch = itemBookingSummaryService.refreshExpired(now, batchSize);
+            refreshed += batch;
+        } while (batch == batchSize);
+
+        if (refreshed > 0) {
+            log.info("Refreshed last and next bookings of {} items", refreshed);
+        }
+    }
+}
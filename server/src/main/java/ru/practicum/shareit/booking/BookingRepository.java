@@ -1,37 +1,146 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingOwnership;
+import ru.practicum.shareit.booking.model.BookingPeriod;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerId(Long bookerId, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findWithItemAndBookerById(Long bookingId);
 
-    List<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Sort sort);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    update Booking as b set b.status = :status
+    where b.id = :bookingId
+    and b.status = :expectedStatus
+    and b.item.id in (select i.id from Item as i where i.owner.id = :ownerId)
+    """)
+    int updateStatusIfOwner(Long bookingId, Long ownerId, BookingStatus expectedStatus, BookingStatus status);
 
-    List<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime end, Sort sort);
+    @Query("""
+    select b.id from Booking as b
+    where b.status = :status
+    and b.start < :start
+    order by b.start
+    """)
+    List<Long> findIdsByStatusAndStartBefore(BookingStatus status, LocalDateTime start, Limit limit);
 
-    List<Booking> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime start, Sort sort);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking as b set b.status = :status where b.id in :bookingIds and b.status = :expectedStatus")
+    int updateStatus(Collection<Long> bookingIds, BookingStatus expectedStatus, BookingStatus status);
 
-    List<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, Sort sort);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+    select b.id as id, b.status as status, b.item.id as itemId, b.item.owner.id as ownerId from Booking as b
+    where b.id in :bookingIds
+    """)
+    List<BookingOwnership> findOwnershipForUpdate(Collection<Long> bookingIds);
 
-    List<Booking> findAllByItemOwnerId(Long ownerId, Sort sort);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    update Booking as b set b.status = :status
+    where b.id in :bookingIds
+    and b.status = :expectedStatus
+    and b.item.id in (select i.id from Item as i where i.owner.id = :ownerId)
+    """)
+    int updateStatusIfOwner(Collection<Long> bookingIds, Long ownerId, BookingStatus expectedStatus,
+                            BookingStatus status);
 
-    List<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(Long ownerId, LocalDateTime start, LocalDateTime end, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdOrderByStartDescIdDesc(Long bookerId, ScrollPosition position, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndEndIsBefore(Long ownerId, LocalDateTime end, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDescIdDesc(
+            Long bookerId, LocalDateTime start, LocalDateTime end, ScrollPosition position, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndStartIsAfter(Long ownerId, LocalDateTime start, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndEndIsBeforeOrderByStartDescIdDesc(
+            Long bookerId, LocalDateTime end, ScrollPosition position, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Sort sort);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStartIsAfterOrderByStartDescIdDesc(
+            Long bookerId, LocalDateTime start, ScrollPosition position, Limit limit);
 
-    List<Booking> findByBookerIdAndItemIdAndStatusAndEndBefore(Long bookerId, Long itemId, BookingStatus status, LocalDateTime now);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStatusOrderByStartDescIdDesc(
+            Long bookerId, BookingStatus status, ScrollPosition position, Limit limit);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByOwnerIdOrderByStartDescIdDesc(Long ownerId, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDescIdDesc(
+            Long ownerId, LocalDateTime start, LocalDateTime end, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByOwnerIdAndEndIsBeforeOrderByStartDescIdDesc(
+            Long ownerId, LocalDateTime end, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByOwnerIdAndStartIsAfterOrderByStartDescIdDesc(
+            Long ownerId, LocalDateTime start, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByOwnerIdAndStatusOrderByStartDescIdDesc(
+            Long ownerId, BookingStatus status, ScrollPosition position, Limit limit);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(Long itemId, Collection<BookingStatus> statuses,
+                                                               LocalDateTime end, LocalDateTime start);
+
+    List<BookingPeriod> findByItemIdAndStatusInAndStartBeforeAndEndAfterOrderByStartAsc(
+            Long itemId, Collection<BookingStatus> statuses, LocalDateTime to, LocalDateTime from);
+
+    @Query("select min(b.end) from Booking as b where b.item.id = ?1 and b.status = ?2 and b.end >= ?3")
+    LocalDateTime findMinEndByItemIdAndStatusAndEndNotBefore(long itemId, BookingStatus status, LocalDateTime now);
+
+    // Selects a constant rather than the id a derived exists query would read, so every column the query
+    // touches is in idx_bookings_booker_item_status_end and the check can be an index-only scan.
+    @Query("""
+    select case when exists (select 1 from Booking as b
+                             where b.booker.id = :bookerId and b.item.id = :itemId
+                             and b.status = :status and b.end < :now)
+    then true else false end
+    """)
+    boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(Long bookerId, Long itemId, BookingStatus status,
+                                                          LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"booker"})
+    @Query("""
+    select b from Booking as b
+    where b.item.id in :itemIds
+    and b.status = :status
+    and b.end = (select max(l.end) from Booking as l
+                 where l.item.id = b.item.id and l.status = :status and l.end < :now)
+    """)
+    List<Booking> findLastByItemIdIn(Collection<Long> itemIds, BookingStatus status, LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"booker"})
+    @Query("""
+    select b from Booking as b
+    where b.item.id in :itemIds
+    and b.status = :status
+    and b.start = (select min(n.start) from Booking as n
+                   where n.item.id = b.item.id and n.status = :status and n.start > :now)
+    """)
+    List<Booking> findNextByItemIdIn(Collection<Long> itemIds, BookingStatus status, LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
     Optional<Booking> findFirstByItemIdAndStatusAndEndBeforeOrderByEndDesc(long itemId, BookingStatus status, LocalDateTime now);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(long itemId, BookingStatus status, LocalDateTime now);
 }
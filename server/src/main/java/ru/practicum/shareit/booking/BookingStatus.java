@@ -1,8 +1,13 @@
 package ru.practicum.shareit.booking;
 
+import java.util.List;
+
 public enum BookingStatus {
     WAITING,
     APPROVED,
     REJECTED,
-    CANCELED
-}
\ No newline at end of file
+    CANCELED,
+    EXPIRED;
+
+    public static final List<BookingStatus> OCCUPYING = List.of(WAITING, APPROVED);
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BookingBatchRequestDto {
+    @NotEmpty(message = "Booking ids cannot be empty")
+    private List<@NotNull Long> bookingIds;
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.dto;
+
+public enum BookingDecisionOutcome {
+    APPLIED,
+    NOT_FOUND,
+    NOT_OWNER,
+    ALREADY_DECIDED
+}
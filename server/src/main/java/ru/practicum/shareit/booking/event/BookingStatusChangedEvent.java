@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.event;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+public record BookingStatusChangedEvent(Long itemId, BookingStatus status) {
+}
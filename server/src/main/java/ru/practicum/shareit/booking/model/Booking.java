@@ -10,6 +10,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -48,4 +49,16 @@ public class Booking {
 
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+
+    // Owner of the item, copied so an owner's bookings can be paged by one index over bookings alone.
+    // An item never changes owner, so the copy is written once.
+    @Column(name = "owner_id", updatable = false)
+    private Long ownerId;
+
+    @PrePersist
+    void copyItemOwner() {
+        if (item != null && item.getOwner() != null) {
+            ownerId = item.getOwner().getId();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+public interface BookingOwnership {
+    Long getId();
+
+    BookingStatus getStatus();
+
+    Long getItemId();
+
+    Long getOwnerId();
+}
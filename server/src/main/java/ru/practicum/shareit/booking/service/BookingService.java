@@ -1,9 +1,11 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
@@ -11,9 +13,15 @@ public interface BookingService {
 
     BookingResponseDto approveOrRejectBooking(long bookingId, long ownerId, boolean approve);
 
+    List<BookingDecisionResultDto> approveOrRejectBookings(List<Long> bookingIds, long ownerId, boolean approve);
+
     BookingResponseDto get(long bookingId, long userId);
 
-    List<BookingResponseDto> getAllBookingsByBooker(long bookerId, BookingState bookingState);
+    List<BookingResponseDto> getAllBookingsByBooker(long bookerId, BookingState bookingState,
+                                                    LocalDateTime lastStart, Long lastId, int size);
+
+    List<BookingResponseDto> getAllBookingsByOwner(long ownerId, BookingState bookingState,
+                                                   LocalDateTime lastStart, Long lastId, int size);
 
-    List<BookingResponseDto> getAllBookingsByOwner(long ownerId, BookingState bookingState);
+    int expireWaitingBookings(LocalDateTime now, int batchSize);
 }
@@ -1,40 +1,59 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDecisionOutcome;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingOwnership;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public BookingResponseDto create(BookingRequestDto bookingRequestDto, long bookerId) {
         User existingBooker = userRepository.findById(bookerId).orElseThrow(() ->
                 new NotFoundException("User with id " + bookerId + " not found"));
-        Item existingItem = itemRepository.findById(bookingRequestDto.getItemId()).orElseThrow(() ->
+        // The item row lock serializes concurrent bookings of the same item until the overlap check commits.
+        Item existingItem = itemRepository.findByIdForUpdate(bookingRequestDto.getItemId()).orElseThrow(() ->
                 new NotFoundException("Item with id " + bookingRequestDto.getItemId() + " not found"));
 
         if (existingItem.getOwner().getId().equals(bookerId)) {
@@ -50,6 +69,12 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Start date must be before end date");
         }
 
+        if (bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(existingItem.getId(),
+                BookingStatus.OCCUPYING, bookingRequestDto.getEnd(), bookingRequestDto.getStart())) {
+            throw new BookingOverlapException("Item with id " + existingItem.getId() +
+                    " is already booked for the requested period");
+        }
+
         Booking booking = BookingMapper.requestDtoToBooking(bookingRequestDto);
         booking.setBooker(existingBooker);
         booking.setItem(existingItem);
@@ -62,25 +87,74 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public BookingResponseDto approveOrRejectBooking(long bookingId, long ownerId, boolean approve) {
-        Booking existingBooking = bookingRepository.findById(bookingId).orElseThrow(() ->
+        BookingStatus status = approve ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+
+        // A single conditional UPDATE decides the transition, so only one concurrent decision can win.
+        boolean applied = bookingRepository.updateStatusIfOwner(bookingId, ownerId, BookingStatus.WAITING, status) > 0;
+
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId).orElseThrow(() ->
                 new NotFoundException("Booking with id " + bookingId + " not found"));
-        Item item = existingBooking.getItem();
 
-        if (!item.getOwner().getId().equals(ownerId)) {
-            throw new ValidationException("Only the owner of this item can approve the booking");
+        if (!applied) {
+            if (!booking.getItem().getOwner().getId().equals(ownerId)) {
+                throw new ValidationException("Only the owner of this item can approve the booking");
+            }
+            throw new ValidationException("Booking with id " + bookingId + " is already " + booking.getStatus());
+        }
+
+        if (approve) {
+            itemBookingSummaryService.refresh(booking.getItem().getId(), LocalDateTime.now());
+        }
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(booking.getItem().getId(), status));
+        return BookingMapper.bookingToResponseDto(booking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDecisionResultDto> approveOrRejectBookings(List<Long> bookingIds, long ownerId,
+                                                                  boolean approve) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(bookingIds);
+        if (uniqueIds.isEmpty() || uniqueIds.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " bookings");
         }
 
         BookingStatus status = approve ? BookingStatus.APPROVED : BookingStatus.REJECTED;
-        existingBooking.setStatus(status);
 
-        Booking updatedBooking = bookingRepository.save(existingBooking);
-        return BookingMapper.bookingToResponseDto(updatedBooking);
+        // Rows stay locked until commit, so the outcomes below match what the UPDATE changes.
+        Map<Long, BookingOwnership> bookings = bookingRepository.findOwnershipForUpdate(uniqueIds).stream()
+                .collect(Collectors.toMap(BookingOwnership::getId, Function.identity()));
+
+        List<BookingDecisionResultDto> results = uniqueIds.stream()
+                .map(id -> decide(id, bookings.get(id), ownerId, status))
+                .toList();
+
+        List<Long> applicableIds = results.stream()
+                .filter(result -> result.getOutcome() == BookingDecisionOutcome.APPLIED)
+                .map(BookingDecisionResultDto::getBookingId)
+                .toList();
+
+        if (!applicableIds.isEmpty()) {
+            bookingRepository.updateStatusIfOwner(applicableIds, ownerId, BookingStatus.WAITING, status);
+        }
+
+        // Items are refreshed in id order so that concurrent batches lock their summaries in the same order.
+        List<Long> changedItemIds = applicableIds.stream()
+                .map(id -> bookings.get(id).getItemId())
+                .distinct()
+                .sorted()
+                .toList();
+        if (approve) {
+            LocalDateTime now = LocalDateTime.now();
+            changedItemIds.forEach(itemId -> itemBookingSummaryService.refresh(itemId, now));
+        }
+        changedItemIds.forEach(itemId -> eventPublisher.publishEvent(new BookingStatusChangedEvent(itemId, status)));
+        return results;
     }
 
     @Override
     @Transactional(readOnly = true)
     public BookingResponseDto get(long bookingId, long userId) {
-        Booking existingBooking = bookingRepository.findById(bookingId).orElseThrow(() ->
+        Booking existingBooking = bookingRepository.findWithItemAndBookerById(bookingId).orElseThrow(() ->
                 new NotFoundException("Booking with id " + bookingId + " not found"));
 
         if ((!existingBooking.getBooker().getId().equals(userId)) &&
@@ -93,21 +167,28 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingResponseDto> getAllBookingsByBooker(long bookerId, BookingState bookingState) {
+    public List<BookingResponseDto> getAllBookingsByBooker(long bookerId, BookingState bookingState,
+                                                           LocalDateTime lastStart, Long lastId, int size) {
         if (!userRepository.existsById(bookerId)) {
             throw new NotFoundException("User with id " + bookerId + " not found");
         }
 
         LocalDateTime now = LocalDateTime.now();
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-
-        List<Booking> bookings = switch (bookingState) {
-            case ALL -> bookingRepository.findAllByBookerId(bookerId, sort);
-            case CURRENT -> bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfter(bookerId, now, now, sort);
-            case PAST -> bookingRepository.findByBookerIdAndEndIsBefore(bookerId, now, sort);
-            case FUTURE -> bookingRepository.findByBookerIdAndStartIsAfter(bookerId, now, sort);
-            case WAITING -> bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.WAITING, sort);
-            case REJECTED -> bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, sort);
+        ScrollPosition position = positionAfter(lastStart, lastId);
+        Limit limit = pageLimit(size);
+
+        Window<Booking> bookings = switch (bookingState) {
+            case ALL -> bookingRepository.findByBookerIdOrderByStartDescIdDesc(bookerId, position, limit);
+            case CURRENT -> bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDescIdDesc(
+                    bookerId, now, now, position, limit);
+            case PAST -> bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDescIdDesc(
+                    bookerId, now, position, limit);
+            case FUTURE -> bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDescIdDesc(
+                    bookerId, now, position, limit);
+            case WAITING -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(
+                    bookerId, BookingStatus.WAITING, position, limit);
+            case REJECTED -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(
+                    bookerId, BookingStatus.REJECTED, position, limit);
         };
 
         return bookings.stream()
@@ -117,25 +198,80 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingResponseDto> getAllBookingsByOwner(long ownerId, BookingState bookingState) {
+    public List<BookingResponseDto> getAllBookingsByOwner(long ownerId, BookingState bookingState,
+                                                          LocalDateTime lastStart, Long lastId, int size) {
        if (!userRepository.existsById(ownerId)) {
            throw new NotFoundException("User with id " + ownerId + " not found");
        }
 
         LocalDateTime now = LocalDateTime.now();
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-
-        List<Booking> bookings = switch (bookingState) {
-            case ALL -> bookingRepository.findAllByItemOwnerId(ownerId, sort);
-            case CURRENT -> bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(ownerId, now, now, sort);
-            case PAST -> bookingRepository.findByItemOwnerIdAndEndIsBefore(ownerId, now, sort);
-            case FUTURE -> bookingRepository.findByItemOwnerIdAndStartIsAfter(ownerId, now, sort);
-            case WAITING -> bookingRepository.findByItemOwnerIdAndStatus(ownerId, BookingStatus.WAITING, sort);
-            case REJECTED -> bookingRepository.findByItemOwnerIdAndStatus(ownerId, BookingStatus.REJECTED, sort);
+        ScrollPosition position = positionAfter(lastStart, lastId);
+        Limit limit = pageLimit(size);
+
+        Window<Booking> bookings = switch (bookingState) {
+            case ALL -> bookingRepository.findByOwnerIdOrderByStartDescIdDesc(ownerId, position, limit);
+            case CURRENT -> bookingRepository.findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDescIdDesc(
+                    ownerId, now, now, position, limit);
+            case PAST -> bookingRepository.findByOwnerIdAndEndIsBeforeOrderByStartDescIdDesc(
+                    ownerId, now, position, limit);
+            case FUTURE -> bookingRepository.findByOwnerIdAndStartIsAfterOrderByStartDescIdDesc(
+                    ownerId, now, position, limit);
+            case WAITING -> bookingRepository.findByOwnerIdAndStatusOrderByStartDescIdDesc(
+                    ownerId, BookingStatus.WAITING, position, limit);
+            case REJECTED -> bookingRepository.findByOwnerIdAndStatusOrderByStartDescIdDesc(
+                    ownerId, BookingStatus.REJECTED, position, limit);
         };
 
         return bookings.stream()
                 .map(BookingMapper::bookingToResponseDto)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional
+    public int expireWaitingBookings(LocalDateTime now, int batchSize) {
+        List<Long> staleIds = bookingRepository.findIdsByStatusAndStartBefore(BookingStatus.WAITING, now,
+                Limit.of(batchSize));
+
+        if (staleIds.isEmpty()) {
+            return 0;
+        }
+        return bookingRepository.updateStatus(staleIds, BookingStatus.WAITING, BookingStatus.EXPIRED);
+    }
+
+    private static BookingDecisionResultDto decide(Long bookingId, BookingOwnership booking, long ownerId,
+                                                   BookingStatus status) {
+        if (booking == null) {
+            return new BookingDecisionResultDto(bookingId, BookingDecisionOutcome.NOT_FOUND, null);
+        }
+
+        if (!booking.getOwnerId().equals(ownerId)) {
+            return new BookingDecisionResultDto(bookingId, BookingDecisionOutcome.NOT_OWNER, null);
+        }
+
+        if (booking.getStatus() != BookingStatus.WAITING) {
+            return new BookingDecisionResultDto(bookingId, BookingDecisionOutcome.ALREADY_DECIDED, booking.getStatus());
+        }
+        return new BookingDecisionResultDto(bookingId, BookingDecisionOutcome.APPLIED, status);
+    }
+
+    // The cursor is the (start, id) of the last booking on the previous page.
+    private ScrollPosition positionAfter(LocalDateTime lastStart, Long lastId) {
+        if (lastStart == null && lastId == null) {
+            return ScrollPosition.keyset();
+        }
+
+        if (lastStart == null || lastId == null) {
+            throw new ValidationException("Parameters lastStart and lastId must be passed together");
+        }
+
+        return ScrollPosition.forward(Map.of("start", lastStart, "id", lastId));
+    }
+
+    private Limit pageLimit(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return Limit.of(size);
+    }
 }
\ No newline at end of file
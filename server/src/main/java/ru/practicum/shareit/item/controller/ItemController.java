@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,11 +14,14 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -55,9 +59,11 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemResponseDto> getItemsByUser(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public List<ItemResponseDto> getItemsByUser(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                @RequestParam(required = false) Long lastId,
+                                                @RequestParam(defaultValue = "20") int size) {
         log.info("Get items by user request received: userId = {}", userId);
-        List<ItemResponseDto> foundedItems = itemService.getItemsByUser(userId);
+        List<ItemResponseDto> foundedItems = itemService.getItemsByUser(userId, lastId, size);
         log.info("Items founded successfully");
         return foundedItems;
     }
@@ -70,13 +76,28 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemResponseDto> search(@RequestParam(value = "text", required = false) String searchText) {
-        log.info("Search request received: text = {}", searchText);
-        List<ItemResponseDto> items = itemService.searchItems(searchText);
+    public List<ItemResponseDto> search(@RequestParam(value = "text", required = false) String searchText,
+                                        @RequestParam(defaultValue = "0") int from,
+                                        @RequestParam(defaultValue = "20") int size,
+                                        @RequestParam(defaultValue = "false") boolean fuzzy) {
+        log.info("Search request received: text = {}, from = {}, size = {}, fuzzy = {}", searchText, from, size,
+                fuzzy);
+        List<ItemResponseDto> items = fuzzy
+                ? itemService.fuzzySearchItems(searchText, from, size)
+                : itemService.searchItems(searchText, from, size);
         log.info("Search completed successfully");
         return items;
     }
 
+    @GetMapping("/suggest")
+    public List<ItemSuggestionDto> suggest(@RequestParam(required = false) String prefix,
+                                           @RequestParam(defaultValue = "10") int size) {
+        log.info("Suggest request received: prefix = {}, size = {}", prefix, size);
+        List<ItemSuggestionDto> suggestions = itemService.suggestItemNames(prefix, size);
+        log.info("Suggestions found successfully");
+        return suggestions;
+    }
+
     @PostMapping("{itemId}/comment")
     public CommentDto createComment(
             @PathVariable Long itemId,
@@ -87,4 +108,28 @@ public class ItemController {
         log.info("Comment created successfully");
         return createdComment;
     }
+
+    @GetMapping("/{itemId}/comments")
+    public List<CommentDto> getComments(@PathVariable long itemId,
+                                        @RequestParam(required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                        LocalDateTime lastCreated,
+                                        @RequestParam(required = false) Long lastId,
+                                        @RequestParam(defaultValue = "20") int size) {
+        log.info("Get comments request received: itemId = {}", itemId);
+        List<CommentDto> comments = itemService.getComments(itemId, lastCreated, lastId, size);
+        log.info("Comments founded successfully");
+        return comments;
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilitySlotDto> getAvailability(
+            @PathVariable long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Get item availability request received: id = {}, from = {}, to = {}", itemId, from, to);
+        List<AvailabilitySlotDto> freeSlots = itemService.getAvailability(itemId, from, to);
+        log.info("Item availability calculated successfully");
+        return freeSlots;
+    }
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ public class ItemResponseDto {
     private Boolean available;
     private Long requestId;
     private List<CommentDto> comments;
+    private Integer commentCount;
     @JsonInclude(JsonInclude.Include.ALWAYS)
     private BookingResponseDto lastBooking;
 
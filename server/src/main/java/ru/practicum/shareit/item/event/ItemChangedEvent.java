@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.event;
+
+// before is null for a created item, after is null for a deleted one.
+public record ItemChangedEvent(ItemSnapshot before, ItemSnapshot after) {
+    public Long itemId() {
+        return after != null ? after.id() : before.id();
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.item.event;
+
+public record ItemSnapshot(Long id, Long ownerId, String name, String description, Boolean available,
+                           Long requestId) {
+}
@@ -9,7 +9,7 @@ public class CommentMapper {
         commentDto.setId(comment.getId());
         commentDto.setText(comment.getText());
         commentDto.setItemId(comment.getItem().getId());
-        commentDto.setAuthorName(comment.getAuthor().getName());
+        commentDto.setAuthorName(comment.getAuthorName());
         commentDto.setCreated(comment.getCreatedDate());
         return commentDto;
     }
@@ -5,6 +5,7 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForItemRequest;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.event.ItemSnapshot;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
@@ -37,6 +38,7 @@ public class ItemMapper {
         itemResponseDto.setAvailable(item.getAvailable());
         itemResponseDto.setRequestId(item.getRequest() != null ? item.getRequest().getId() : null);
         itemResponseDto.setComments(comments);
+        itemResponseDto.setCommentCount(item.getCommentCount());
         itemResponseDto.setLastBooking(lastBooking);
         itemResponseDto.setNextBooking(nextBooking);
         return itemResponseDto;
@@ -49,4 +51,19 @@ public class ItemMapper {
         dtoForItemRequest.setOwnerId(item.getOwner().getId());
         return dtoForItemRequest;
     }
+
+    public static ItemSnapshot itemToSnapshot(Item item) {
+        return new ItemSnapshot(item.getId(), item.getOwner().getId(), item.getName(), item.getDescription(),
+                item.getAvailable(), item.getRequest() != null ? item.getRequest().getId() : null);
+    }
+
+    public static ItemResponseDto snapshotToResponseDto(ItemSnapshot item) {
+        ItemResponseDto itemResponseDto = new ItemResponseDto();
+        itemResponseDto.setId(item.id());
+        itemResponseDto.setName(item.name());
+        itemResponseDto.setDescription(item.description());
+        itemResponseDto.setAvailable(item.available());
+        itemResponseDto.setRequestId(item.requestId());
+        return itemResponseDto;
+    }
 }
\ No newline at end of file
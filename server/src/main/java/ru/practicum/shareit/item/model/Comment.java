@@ -38,6 +38,10 @@ public class Comment {
     @JoinColumn(name = "author_id")
     private User author;
 
+    // Copy of author.name, so reading comments does not load their authors.
+    @Column(name = "author_name")
+    private String authorName;
+
     @Column(name = "created_date")
     private LocalDateTime createdDate;
 }
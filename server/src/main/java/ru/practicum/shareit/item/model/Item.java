@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -37,4 +38,8 @@ public class Item {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private ItemRequest request;
+
+    // Changed only by the bulk updates of ItemRepository, so saving an item never overwrites it.
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    private int commentCount;
 }
\ No newline at end of file
@@ -1,10 +1,33 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
+    Window<Comment> findByItemIdOrderByCreatedDateDescIdDesc(Long itemId, ScrollPosition position, Limit limit);
+
+    // Up to limit newest comments of each item, newest first. The rows are numbered per item in the order of
+    // idx_comments_item_created_id, so only the rows that are returned leave the database.
+    @Query(value = """
+    select c.id, c.text, c.item_id, c.author_id, c.author_name, c.created_date from (
+        select c.*, row_number() over (partition by c.item_id order by c.created_date desc, c.id desc) as newest_rank
+        from comments as c
+        where c.item_id in (:itemIds)
+    ) as c
+    where c.newest_rank <= :limit
+    order by c.item_id, c.created_date desc, c.id desc
+    """, nativeQuery = true)
+    List<Comment> findNewestByItemIdIn(Collection<Long> itemIds, int limit);
+
+    @Modifying
+    @Query("update Comment as c set c.authorName = :authorName where c.author.id = :authorId")
+    int updateAuthorName(Long authorId, String authorName);
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    @EntityGraph(attributePaths = {"lastBooking.booker", "lastBooking.item", "nextBooking.booker", "nextBooking.item"})
+    Optional<ItemBookingSummary> findWithBookingsByItemId(Long itemId);
+
+    @EntityGraph(attributePaths = {"lastBooking.booker", "lastBooking.item", "nextBooking.booker", "nextBooking.item"})
+    List<ItemBookingSummary> findWithBookingsByItemIdIn(Collection<Long> itemIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemBookingSummary as s where s.itemId = ?1")
+    Optional<ItemBookingSummary> findByItemIdForUpdate(Long itemId);
+
+    @Query("""
+    select s.itemId from ItemBookingSummary as s
+    where s.validUntil < :now
+    order by s.validUntil
+    """)
+    List<Long> findItemIdsValidUntilBefore(LocalDateTime now, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    update ItemBookingSummary as s set s.validUntil = :now
+    where s.lastBooking.id in (select b.id from Booking as b where b.booker.id = :bookerId)
+    or s.nextBooking.id in (select b.id from Booking as b where b.booker.id = :bookerId)
+    """)
+    int invalidateByBookerId(Long bookerId, LocalDateTime now);
+}
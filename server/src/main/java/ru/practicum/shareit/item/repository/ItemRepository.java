@@ -1,22 +1,71 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
+import java.util.Optional;
 
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByOwnerId(Long ownerId);
 
+    List<Item> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long lastId, Limit limit);
+
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long lastId, Limit limit);
+
     @Query("""
     select i from Item as i
-    where (upper(i.name) like upper(concat('%', ?1, '%'))
-    or upper(i.description) like upper(concat('%', ?1, '%')))
+    where (upper(i.name) like upper(concat('%', :text, '%')) escape '\\'
+    or upper(i.description) like upper(concat('%', :text, '%')) escape '\\')
     and i.available = true
+    order by i.id
+    limit :size offset :from
     """)
-    List<Item> search(String text);
+    List<Item> search(String text, int from, int size);
+
+    // PostgreSQL only: search_vector and its GIN index are created by schema-postgresql.sql.
+    @Query(value = """
+    select i.* from items as i
+    where i.search_vector @@ to_tsquery('simple', :query)
+    and i.available = true
+    order by ts_rank(i.search_vector, to_tsquery('simple', :query)) desc, i.id
+    limit :size offset :from
+    """, nativeQuery = true)
+    List<Item> searchFullText(String query, int from, int size);
+
+    // Same matching as search, in a form the pg_trgm indexes on lower(name) and lower(description) can serve.
+    @Query(value = """
+    select i.* from items as i
+    where (lower(i.name) like lower(concat('%', :text, '%')) escape '\\'
+    or lower(i.description) like lower(concat('%', :text, '%')) escape '\\')
+    and i.available = true
+    order by i.id
+    limit :size offset :from
+    """, nativeQuery = true)
+    List<Item> searchTrigram(String text, int from, int size);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item as i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    @Modifying
+    @Query("update Item as i set i.commentCount = i.commentCount + 1 where i.id = :itemId")
+    int incrementCommentCount(Long itemId);
+
+    // Comments of a deleted user go away with the cascade, so the items they were left on must stop counting them.
+    @Modifying
+    @Query(value = """
+    update items set comment_count = comment_count -
+        (select count(*) from comments as c where c.item_id = items.id and c.author_id = :authorId)
+    where id in (select c.item_id from comments as c where c.author_id = :authorId)
+    """, nativeQuery = true)
+    int decrementCommentCountsByAuthorId(Long authorId);
 
     List<Item> findAllByRequestId(Long requestId);
 
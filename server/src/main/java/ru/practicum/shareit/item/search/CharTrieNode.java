@@ -0,0 +1,66 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+// Trie node with char keys. Children are kept in two parallel arrays sorted by key, so a node costs two small
+// arrays instead of a map and finds a child by binary search.
+abstract class CharTrieNode<N extends CharTrieNode<N>> {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Object[] NO_CHILDREN = new Object[0];
+
+    private char[] keys = NO_KEYS;
+    private Object[] children = NO_CHILDREN;
+    private int childCount;
+
+    protected abstract N newChild();
+
+    int childCount() {
+        return childCount;
+    }
+
+    char keyAt(int index) {
+        return keys[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    N childAt(int index) {
+        return (N) children[index];
+    }
+
+    N child(char key) {
+        int position = Arrays.binarySearch(keys, 0, childCount, key);
+        return position >= 0 ? childAt(position) : null;
+    }
+
+    N childOrCreate(char key) {
+        int position = Arrays.binarySearch(keys, 0, childCount, key);
+        if (position >= 0) {
+            return childAt(position);
+        }
+
+        if (childCount == keys.length) {
+            int capacity = Math.max(2, childCount * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            children = Arrays.copyOf(children, capacity);
+        }
+        int insertAt = -position - 1;
+        System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+        System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+        N child = newChild();
+        keys[insertAt] = key;
+        children[insertAt] = child;
+        childCount++;
+        return child;
+    }
+
+    void removeChild(char key) {
+        int position = Arrays.binarySearch(keys, 0, childCount, key);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(keys, position + 1, keys, position, childCount - position - 1);
+        System.arraycopy(children, position + 1, children, position, childCount - position - 1);
+        childCount--;
+        children[childCount] = null;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public class FullTextQuery {
+    private FullTextQuery() {
+    }
+
+    // "Power dri" becomes "power:* & dri:*". Only letters and digits are kept, so the result is always
+    // a valid tsquery; it is empty when the text has no words.
+    public static String prefixQuery(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,285 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.event.ItemSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Typo-tolerant lookup over the words of item names.
+// Every word of the search text must match some word of the name within maxDistance edits;
+// results are ordered by the total number of edits and then by id.
+// Items are kept by primitive id and each word's posting list holds primitive item ids. The vocabulary is a WordTrie
+// that drops words once no item uses them.
+public class FuzzyNameIndex {
+    private final LongObjectMap<ItemSnapshot> items = new LongObjectMap<>();
+    private final Map<String, LongPostingList> postings = new HashMap<>();
+    private final WordTrie vocabulary = new WordTrie();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(ItemSnapshot item) {
+        lock.writeLock().lock();
+        try {
+            ItemSnapshot previous = items.put(item.id(), item);
+            if (previous != null) {
+                unlink(previous);
+            }
+            for (String word : words(item.name())) {
+                vocabulary.add(word);
+                postings.computeIfAbsent(word, key -> new LongPostingList()).add(item.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            ItemSnapshot previous = items.remove(itemId);
+            if (previous != null) {
+                unlink(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeByOwner(long ownerId) {
+        lock.writeLock().lock();
+        try {
+            List<ItemSnapshot> owned = items.values().stream()
+                    .filter(item -> item.ownerId().equals(ownerId))
+                    .toList();
+            for (ItemSnapshot item : owned) {
+                items.remove(item.id());
+                unlink(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The total edits allowed widen one at a time, and the search stops at the first total that fills the page:
+    // every item with more edits would be ordered after it. Exact matches never pay for the typo tiers.
+    public List<ItemSnapshot> search(String text, int from, int size) {
+        String[] queryWords = words(text);
+        if (queryWords.length == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            WordMatches[] matches = new WordMatches[queryWords.length];
+            int maxTotal = 0;
+            for (int i = 0; i < queryWords.length; i++) {
+                matches[i] = new WordMatches(queryWords[i]);
+                maxTotal += matches[i].maxDistance();
+            }
+
+            int wanted = from + size;
+            List<List<ItemSnapshot>> byTotal = List.of();
+            for (int total = 0; total <= maxTotal; total++) {
+                byTotal = collect(matches, total, wanted);
+                if (byTotal.stream().mapToInt(List::size).sum() >= wanted) {
+                    break;
+                }
+            }
+            return byTotal.stream()
+                    .flatMap(List::stream)
+                    .skip(from)
+                    .limit(size)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Short words must match exactly, longer ones tolerate one or two typos.
+    static int maxDistance(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    // The available items within maxTotal edits, grouped by their total edits and in id order within a group.
+    // A group keeps the first wanted items only, and once the groups up to some total hold wanted items, items
+    // with more edits are not collected any more. Items are visited in id order, so a full group of exact
+    // matches ends the walk.
+    private List<List<ItemSnapshot>> collect(WordMatches[] matches, int maxTotal, int wanted) {
+        Run[] runs = new Run[matches.length];
+        Run driver = null;
+        for (int w = 0; w < matches.length; w++) {
+            matches[w].narrowTo(Math.min(maxTotal, matches[w].maxDistance()));
+            runs[w] = matches[w].matched;
+            if (driver == null || runs[w].count() < driver.count()) {
+                driver = runs[w];
+            }
+        }
+        if (driver.count() == 0) {
+            return List.of();
+        }
+
+        List<List<ItemSnapshot>> byTotal = new ArrayList<>(maxTotal + 1);
+        for (int total = 0; total <= maxTotal; total++) {
+            byTotal.add(new ArrayList<>());
+        }
+        int cutoff = maxTotal;
+        for (int i = 0; i < driver.count(); i++) {
+            long itemId = driver.ids()[i];
+            int total = 0;
+            for (Run run : runs) {
+                int distance = run == driver ? driver.distances()[i] : run.distanceOf(itemId);
+                total += distance;
+                if (distance < 0 || total > cutoff) {
+                    total = -1;
+                    break;
+                }
+            }
+            if (total < 0 || byTotal.get(total).size() >= wanted) {
+                continue;
+            }
+
+            ItemSnapshot item = items.get(itemId);
+            if (!item.available()) {
+                continue;
+            }
+            byTotal.get(total).add(item);
+            cutoff = cutoff(byTotal, cutoff, wanted);
+            if (byTotal.getFirst().size() >= wanted) {
+                break;
+            }
+        }
+        return byTotal;
+    }
+
+    // The lowest total whose group completes the first wanted items.
+    private static int cutoff(List<List<ItemSnapshot>> byTotal, int cutoff, int wanted) {
+        int collected = 0;
+        for (int total = 0; total < cutoff; total++) {
+            collected += byTotal.get(total).size();
+            if (collected >= wanted) {
+                return total;
+            }
+        }
+        return cutoff;
+    }
+
+    // The items matching one query word within some number of edits, with the fewest edits of each. The
+    // vocabulary is walked one distance at a time, as the search widens, so a page filled by exact matches never
+    // pays for the typo walks. Nearer matches alone are not enough: an item that is further off for this word may
+    // be the only one that matches the other words.
+    private class WordMatches {
+        private final String queryWord;
+        private final List<List<LongPostingList>> byDistance = new ArrayList<>();
+        private Run matched = Run.EMPTY;
+
+        private WordMatches(String queryWord) {
+            this.queryWord = queryWord;
+        }
+
+        private int maxDistance() {
+            return FuzzyNameIndex.maxDistance(queryWord);
+        }
+
+        private void narrowTo(int limit) {
+            if (limit < byDistance.size()) {
+                return;
+            }
+
+            while (byDistance.size() <= limit) {
+                int walked = byDistance.size();
+                List<LongPostingList> lists = new ArrayList<>();
+                vocabulary.search(queryWord, walked, (word, distance) -> {
+                    if (distance == walked) {
+                        lists.add(postings.get(word));
+                    }
+                });
+                byDistance.add(lists);
+            }
+
+            // The posting lists are sorted already, so they are merged pairwise rather than sorted again.
+            List<Run> runs = new ArrayList<>();
+            for (int distance = 0; distance < byDistance.size(); distance++) {
+                for (LongPostingList list : byDistance.get(distance)) {
+                    runs.add(Run.of(list, distance));
+                }
+            }
+            while (runs.size() > 1) {
+                List<Run> merged = new ArrayList<>((runs.size() + 1) / 2);
+                for (int i = 0; i + 1 < runs.size(); i += 2) {
+                    merged.add(Run.merge(runs.get(i), runs.get(i + 1)));
+                }
+                if (runs.size() % 2 == 1) {
+                    merged.add(runs.getLast());
+                }
+                runs = merged;
+            }
+            matched = runs.isEmpty() ? Run.EMPTY : runs.getFirst();
+        }
+    }
+
+    // Sorted primitive item ids, each with its fewest edits.
+    private record Run(long[] ids, byte[] distances, int count) {
+        private static final Run EMPTY = new Run(new long[0], new byte[0], 0);
+
+        private static Run of(LongPostingList list, int distance) {
+            long[] ids = list.toArray();
+            byte[] distances = new byte[ids.length];
+            Arrays.fill(distances, (byte) distance);
+            return new Run(ids, distances, ids.length);
+        }
+
+        // An item in both runs keeps its fewer edits.
+        private static Run merge(Run left, Run right) {
+            long[] ids = new long[left.count + right.count];
+            byte[] distances = new byte[ids.length];
+            int i = 0;
+            int j = 0;
+            int next = 0;
+            while (i < left.count || j < right.count) {
+                if (j == right.count || i < left.count && left.ids[i] < right.ids[j]) {
+                    ids[next] = left.ids[i];
+                    distances[next++] = left.distances[i++];
+                } else if (i == left.count || right.ids[j] < left.ids[i]) {
+                    ids[next] = right.ids[j];
+                    distances[next++] = right.distances[j++];
+                } else {
+                    ids[next] = left.ids[i];
+                    distances[next++] = (byte) Math.min(left.distances[i++], right.distances[j++]);
+                }
+            }
+            return new Run(ids, distances, next);
+        }
+
+        // The fewest edits of the item, or -1 when it does not match.
+        private int distanceOf(long itemId) {
+            int position = Arrays.binarySearch(ids, 0, count, itemId);
+            return position >= 0 ? distances[position] : -1;
+        }
+    }
+
+    private void unlink(ItemSnapshot item) {
+        for (String word : words(item.name())) {
+            LongPostingList list = postings.get(word);
+            list.remove(item.id());
+            if (list.size() == 0) {
+                postings.remove(word);
+                vocabulary.remove(word);
+            }
+        }
+    }
+
+    private static String[] words(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,217 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemSnapshot;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Pages of database-backed search results, keyed by the query text as the search mode normalizes it.
+// Caffeine bounds the cache by the size of the cached items and admits entries by frequency (W-TinyLFU),
+// so the few popular terms stay cached. Cached pages are indexed by their normalized text, so a committed
+// item change tests each cached text once and removes only the pages of texts that the item matched before or
+// after the change.
+@Component
+public class ItemSearchCache {
+    private static final String CACHE_NAME = "itemSearch";
+    private static final int ITEM_WEIGHT = 32;
+
+    private final ItemSearchMode mode;
+    private final Cache<Key, Page> cache;
+    // Every normalized text with cached pages or a page being loaded. Entries are changed only inside the
+    // map's compute methods, which serialize them per text.
+    private final ConcurrentMap<String, Term> terms = new ConcurrentHashMap<>();
+
+    public ItemSearchCache(ItemSearchProperties itemSearchProperties, MeterRegistry meterRegistry) {
+        this.mode = itemSearchProperties.getMode();
+        ItemSearchProperties.Cache properties = itemSearchProperties.getCache();
+        if (!properties.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight())
+                .weigher((Key key, Page page) -> page.weight())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .evictionListener((Key key, Page page, RemovalCause cause) -> unregister(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, monitored -> monitored.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public List<ItemResponseDto> get(String text, int from, int size, Supplier<List<ItemResponseDto>> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+
+        Key key = new Key(normalize(text), from, size);
+        Page page = cache.getIfPresent(key);
+        if (page != null) {
+            return page.items();
+        }
+
+        // The text stays registered while its page loads, so a change committed meanwhile bumps its generation.
+        Term term = terms.compute(key.text(), (normalized, current) -> {
+            Term registered = current != null ? current : new Term(matcher(normalized));
+            registered.loads++;
+            return registered;
+        });
+        long generation = term.generation;
+        List<ItemResponseDto> items;
+        try {
+            items = List.copyOf(loader.get());
+        } catch (RuntimeException e) {
+            finishLoad(key, generation, false);
+            throw e;
+        }
+
+        Page loaded = new Page(items);
+        if (finishLoad(key, generation, true)) {
+            cache.asMap().putIfAbsent(key, loaded);
+            // A change committed between finishLoad and the put looked for the page before it was there.
+            if (term.generation != generation) {
+                cache.asMap().remove(key, loaded);
+            }
+        }
+        return items;
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        if (cache == null) {
+            return;
+        }
+
+        for (Map.Entry<String, Term> entry : terms.entrySet()) {
+            Term term = entry.getValue();
+            if (term.matches(event.before()) || term.matches(event.after())) {
+                invalidate(entry.getKey());
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        if (cache == null) {
+            return;
+        }
+
+        cache.invalidateAll();
+        terms.keySet().forEach(this::invalidate);
+    }
+
+    // Returns whether the page may be cached: no change to its text was committed since the load started.
+    private boolean finishLoad(Key key, long generation, boolean loaded) {
+        boolean[] fresh = new boolean[1];
+        terms.computeIfPresent(key.text(), (normalized, term) -> {
+            term.loads--;
+            fresh[0] = loaded && term.generation == generation;
+            if (fresh[0]) {
+                term.keys.add(key);
+            }
+            return term.isUnused() ? null : term;
+        });
+        return fresh[0];
+    }
+
+    private void invalidate(String text) {
+        List<Key> stale = new ArrayList<>();
+        terms.computeIfPresent(text, (normalized, term) -> {
+            term.generation++;
+            stale.addAll(term.keys);
+            term.keys.clear();
+            return term.isUnused() ? null : term;
+        });
+        cache.invalidateAll(stale);
+    }
+
+    private void unregister(Key key) {
+        terms.computeIfPresent(key.text(), (normalized, term) -> {
+            term.keys.remove(key);
+            return term.isUnused() ? null : term;
+        });
+    }
+
+    private String normalize(String text) {
+        return mode == ItemSearchMode.FULL_TEXT ? FullTextQuery.prefixQuery(text) : LikePattern.upper(text);
+    }
+
+    // Whether an item could be on a page of the query. For full-text queries this over-approximates
+    // a word-prefix match by a substring match of every term.
+    private Predicate<ItemSnapshot> matcher(String normalizedText) {
+        if (mode == ItemSearchMode.FULL_TEXT) {
+            List<String> terms = Arrays.stream(normalizedText.split(" & "))
+                    .filter(term -> !term.isEmpty())
+                    .map(term -> term.substring(0, term.length() - ":*".length()))
+                    .toList();
+            return item -> {
+                String text = (item.name() + " " + item.description()).toLowerCase(Locale.ROOT);
+                return terms.stream().allMatch(text::contains);
+            };
+        }
+
+        LikePattern pattern = LikePattern.containing(normalizedText);
+        return item -> pattern.matches(LikePattern.upper(item.name()))
+                || pattern.matches(LikePattern.upper(item.description()));
+    }
+
+    private record Key(String text, int from, int size) {
+    }
+
+    // The cached pages of one normalized text. generation counts the committed changes the text matched.
+    private static class Term {
+        private final Predicate<ItemSnapshot> matcher;
+        private final Set<Key> keys = new HashSet<>();
+        private volatile long generation;
+        private int loads;
+
+        private Term(Predicate<ItemSnapshot> matcher) {
+            this.matcher = matcher;
+        }
+
+        private boolean matches(ItemSnapshot item) {
+            return item != null && item.available() && matcher.test(item);
+        }
+
+        private boolean isUnused() {
+            return keys.isEmpty() && loads == 0;
+        }
+    }
+
+    private record Page(List<ItemResponseDto> items) {
+        int weight() {
+            int weight = 1;
+            for (ItemResponseDto item : items) {
+                weight += ITEM_WEIGHT + length(item.getName()) + length(item.getDescription());
+            }
+            return weight;
+        }
+
+        private static int length(String value) {
+            return value == null ? 0 : value.length();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemSnapshot;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.List;
+
+// Keeps the in-memory item indexes: the TrigramIndex when shareit.item.search.mode is INDEX,
+// the FuzzyNameIndex when shareit.item.search.fuzzy-enabled is set and the NameSuggestionTrie for autocomplete.
+// They are filled before the server starts accepting requests and follow committed item changes of this instance.
+@Component
+@Slf4j
+public class ItemSearchIndex implements SmartInitializingSingleton {
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final TrigramIndex trigramIndex;
+    private final FuzzyNameIndex fuzzyIndex;
+    private final NameSuggestionTrie suggestionTrie = new NameSuggestionTrie();
+
+    public ItemSearchIndex(ItemRepository itemRepository, ItemSearchProperties itemSearchProperties) {
+        this.itemRepository = itemRepository;
+        this.trigramIndex = itemSearchProperties.getMode() == ItemSearchMode.INDEX ? new TrigramIndex() : null;
+        this.fuzzyIndex = itemSearchProperties.isFuzzyEnabled() ? new FuzzyNameIndex() : null;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long lastId = 0;
+        int loaded = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_BATCH_SIZE));
+            for (Item item : batch) {
+                put(ItemMapper.itemToSnapshot(item));
+                lastId = item.getId();
+            }
+            loaded += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.info("Item search indexes loaded: {} items", loaded);
+    }
+
+    public List<ItemSnapshot> search(String text, int from, int size) {
+        return trigramIndex.search(text, from, size);
+    }
+
+    public boolean isFuzzyEnabled() {
+        return fuzzyIndex != null;
+    }
+
+    public List<ItemSnapshot> fuzzySearch(String text, int from, int size) {
+        return fuzzyIndex.search(text, from, size);
+    }
+
+    public List<NameSuggestionTrie.Suggestion> suggest(String prefix, int size) {
+        return suggestionTrie.suggest(prefix, size);
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.after() != null) {
+            put(event.after());
+            return;
+        }
+
+        suggestionTrie.remove(event.itemId());
+        if (trigramIndex != null) {
+            trigramIndex.remove(event.itemId());
+        }
+        if (fuzzyIndex != null) {
+            fuzzyIndex.remove(event.itemId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        suggestionTrie.removeByOwner(event.userId());
+        if (trigramIndex != null) {
+            trigramIndex.removeByOwner(event.userId());
+        }
+        if (fuzzyIndex != null) {
+            fuzzyIndex.removeByOwner(event.userId());
+        }
+    }
+
+    private void put(ItemSnapshot item) {
+        suggestionTrie.put(item);
+        if (trigramIndex != null) {
+            trigramIndex.put(item);
+        }
+        if (fuzzyIndex != null) {
+            fuzzyIndex.put(item);
+        }
+    }
+}
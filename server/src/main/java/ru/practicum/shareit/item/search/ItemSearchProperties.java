@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.item.search")
+public class ItemSearchProperties {
+    private ItemSearchMode mode = ItemSearchMode.LIKE;
+
+    // Hard caps for the from and size parameters of a search request.
+    private int maxFrom = 1000;
+
+    private int maxSize = 100;
+
+    // Builds the in-memory name index behind the fuzzy search parameter.
+    private boolean fuzzyEnabled;
+
+    private final Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled;
+
+        // Total weight of the cached pages, in characters of item names and descriptions.
+        private long maximumWeight = 5_000_000;
+
+        // Upper bound on staleness for changes made through other server instances.
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// The upper(...) like upper(...) predicate of ItemRepository.search, evaluated in memory.
+// % and _ are wildcards and a backslash escapes the next character, as declared by the query's escape clause.
+class LikePattern {
+    private final Pattern regex;
+    private final List<String> literals;
+
+    private LikePattern(Pattern regex, List<String> literals) {
+        this.regex = regex;
+        this.literals = literals;
+    }
+
+    static LikePattern containing(String text) {
+        String pattern = upper("%" + text + "%");
+        StringBuilder regex = new StringBuilder();
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length()) {
+                literal.append(pattern.charAt(++i));
+            } else if (c == '%' || c == '_') {
+                flush(literal, regex, literals);
+                regex.append(c == '%' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        flush(literal, regex, literals);
+
+        return new LikePattern(Pattern.compile(regex.toString(), Pattern.DOTALL), literals);
+    }
+
+    static String upper(String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+
+    // Runs of characters that every match must contain.
+    List<String> literals() {
+        return literals;
+    }
+
+    boolean matches(String upperCaseValue) {
+        return regex.matcher(upperCaseValue).matches();
+    }
+
+    private static void flush(StringBuilder literal, StringBuilder regex, List<String> literals) {
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+            literals.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hash map from primitive long keys, with open addressing and linear probing over parallel key and value arrays.
+// Keys are neither boxed nor wrapped in entry objects. A null value slot marks a free slot, so values are non-null.
+class LongObjectMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys = new long[MIN_CAPACITY];
+    private Object[] values = new Object[MIN_CAPACITY];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    V get(long key) {
+        int slot = slot(key);
+        return values[slot] != null ? value(slot) : null;
+    }
+
+    V put(long key, V value) {
+        int slot = slot(key);
+        V previous = values[slot] != null ? value(slot) : null;
+        keys[slot] = key;
+        values[slot] = value;
+        if (previous == null && ++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return previous;
+    }
+
+    V remove(long key) {
+        int slot = slot(key);
+        if (values[slot] == null) {
+            return null;
+        }
+
+        V previous = value(slot);
+        values[slot] = null;
+        size--;
+        closeGap(slot);
+        return previous;
+    }
+
+    List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                result.add(value(slot));
+            }
+        }
+        return result;
+    }
+
+    // The slot holding the key, or the free slot where it would go.
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Moves back the entries after a freed slot that would no longer be reachable from their home slot.
+    private void closeGap(int free) {
+        int mask = keys.length - 1;
+        for (int slot = (free + 1) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            int home = hash(keys[slot]) & mask;
+            if (((slot - home) & mask) >= ((slot - free) & mask)) {
+                keys[free] = keys[slot];
+                values[free] = values[slot];
+                values[slot] = null;
+                free = slot;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldValues[slot] != null) {
+                int target = slot(oldKeys[slot]);
+                keys[target] = oldKeys[slot];
+                values[target] = oldValues[slot];
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int slot) {
+        return (V) values[slot];
+    }
+
+    // Item ids are sequential and packed trigrams share their high bits, so the bits are mixed before masking.
+    private static int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.event.ItemSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Prefix autocomplete over the names of available items, ranked by how many items carry the name.
+// Every trie node keeps the top names of its subtree, so a lookup is a walk down the prefix and a copy;
+// a change of one name recomputes the top lists along its own path only.
+public class NameSuggestionTrie {
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Node[] NO_NODES = new Node[0];
+    private static final Comparator<Node> RANKING = Comparator.comparingInt((Node node) -> node.count).reversed()
+            .thenComparing(node -> node.key);
+
+    private final Map<Long, ItemSnapshot> items = new HashMap<>();
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public record Suggestion(String name, int count) {
+    }
+
+    public void put(ItemSnapshot item) {
+        lock.writeLock().lock();
+        try {
+            ItemSnapshot previous = items.put(item.id(), item);
+            if (previous != null && previous.available()) {
+                change(previous.name(), -1);
+            }
+            if (item.available()) {
+                change(item.name(), 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            ItemSnapshot previous = items.remove(itemId);
+            if (previous != null && previous.available()) {
+                change(previous.name(), -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeByOwner(long ownerId) {
+        lock.writeLock().lock();
+        try {
+            List<ItemSnapshot> owned = items.values().stream()
+                    .filter(item -> item.ownerId().equals(ownerId))
+                    .toList();
+            for (ItemSnapshot item : owned) {
+                items.remove(item.id());
+                if (item.available()) {
+                    change(item.name(), -1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int size) {
+        String key = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            return Arrays.stream(node.top, 0, Math.min(size, node.topCount))
+                    .map(terminal -> new Suggestion(terminal.name, terminal.count))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void change(String name, int delta) {
+        String key = normalize(name);
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].childOrCreate(key.charAt(i));
+        }
+
+        Node terminal = path[key.length()];
+        terminal.key = key;
+        terminal.count += delta;
+        if (delta > 0) {
+            terminal.name = name;
+        }
+
+        for (int i = key.length(); i >= 0; i--) {
+            path[i].recomputeTop();
+            if (i > 0 && path[i].count == 0 && path[i].childCount() == 0) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Node extends CharTrieNode<Node> {
+        private String key;
+        private String name;
+        private int count;
+
+        private Node[] top = NO_NODES;
+        private int topCount;
+
+        @Override
+        protected Node newChild() {
+            return new Node();
+        }
+
+        // The top names of a subtree are among the node's own name and the top names of its children.
+        private void recomputeTop() {
+            List<Node> candidates = new ArrayList<>();
+            if (count > 0) {
+                candidates.add(this);
+            }
+            for (int i = 0; i < childCount(); i++) {
+                Node child = childAt(i);
+                candidates.addAll(Arrays.asList(child.top).subList(0, child.topCount));
+            }
+            candidates.sort(RANKING);
+
+            topCount = Math.min(MAX_SUGGESTIONS, candidates.size());
+            top = candidates.subList(0, topCount).toArray(NO_NODES);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.event.ItemSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Inverted index from every trigram of upper(name) and upper(description) to the ids of the items containing it.
+// Lookups narrow the candidates by the trigrams of the search text and then check each candidate with LikePattern,
+// so results are exactly those of ItemRepository.search.
+public class TrigramIndex {
+    // Both keyed by primitive longs: item ids, and trigrams packed into a long.
+    private final LongObjectMap<ItemSnapshot> items = new LongObjectMap<>();
+    private final LongObjectMap<LongPostingList> postings = new LongObjectMap<>();
+    private final LongPostingList allIds = new LongPostingList();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(ItemSnapshot item) {
+        lock.writeLock().lock();
+        try {
+            ItemSnapshot previous = items.put(item.id(), item);
+            if (previous != null) {
+                unlink(previous);
+            }
+            allIds.add(item.id());
+            for (long trigram : trigrams(item)) {
+                LongPostingList list = postings.get(trigram);
+                if (list == null) {
+                    list = new LongPostingList();
+                    postings.put(trigram, list);
+                }
+                list.add(item.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            ItemSnapshot previous = items.remove(itemId);
+            if (previous != null) {
+                unlink(previous);
+                allIds.remove(itemId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeByOwner(long ownerId) {
+        lock.writeLock().lock();
+        try {
+            List<ItemSnapshot> owned = items.values().stream()
+                    .filter(item -> item.ownerId().equals(ownerId))
+                    .toList();
+            for (ItemSnapshot item : owned) {
+                items.remove(item.id());
+                unlink(item);
+                allIds.remove(item.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Available items matching the text, in id order, skipping the first from matches.
+    public List<ItemSnapshot> search(String text, int from, int size) {
+        LikePattern pattern = LikePattern.containing(text);
+        List<ItemSnapshot> found = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = candidates(pattern);
+            int skipped = 0;
+            for (int i = 0; i < candidates.length && found.size() < size; i++) {
+                ItemSnapshot item = items.get(candidates[i]);
+                if (item.available() && (pattern.matches(LikePattern.upper(item.name()))
+                        || pattern.matches(LikePattern.upper(item.description())))) {
+                    if (skipped < from) {
+                        skipped++;
+                    } else {
+                        found.add(item);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    private long[] candidates(LikePattern pattern) {
+        List<LongPostingList> lists = new ArrayList<>();
+        for (String literal : pattern.literals()) {
+            for (long trigram : trigrams(literal)) {
+                LongPostingList list = postings.get(trigram);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+        }
+
+        // Text without a trigram cannot be narrowed down, every item is a candidate.
+        if (lists.isEmpty()) {
+            return allIds.toArray();
+        }
+
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+        long[] candidates = lists.getFirst().toArray();
+        int count = candidates.length;
+        for (LongPostingList list : lists.subList(1, lists.size())) {
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (list.contains(candidates[i])) {
+                    candidates[kept++] = candidates[i];
+                }
+            }
+            count = kept;
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    private void unlink(ItemSnapshot item) {
+        for (long trigram : trigrams(item)) {
+            LongPostingList list = postings.get(trigram);
+            list.remove(item.id());
+            if (list.size() == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static long[] trigrams(ItemSnapshot item) {
+        long[] name = trigrams(LikePattern.upper(item.name()));
+        long[] description = trigrams(LikePattern.upper(item.description()));
+        long[] all = Arrays.copyOf(name, name.length + description.length);
+        System.arraycopy(description, 0, all, name.length, description.length);
+        return distinct(all);
+    }
+
+    // Each trigram is packed into a long, 16 bits per char.
+    private static long[] trigrams(String value) {
+        if (value.length() < 3) {
+            return new long[0];
+        }
+
+        long[] trigrams = new long[value.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2);
+        }
+        return distinct(trigrams);
+    }
+
+    private static long[] distinct(long[] values) {
+        if (values.length == 0) {
+            return values;
+        }
+
+        Arrays.sort(values);
+        int count = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[count - 1]) {
+                values[count++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, count);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Tells whether the pg_trgm indexes from schema-postgresql.sql can serve item search.
+// The extension may be missing (no privileges, H2), in which case search keeps using the LIKE query.
+@Component
+@Slf4j
+public class TrigramSearchSupport implements SmartInitializingSingleton {
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean requested;
+    private volatile boolean available;
+
+    public TrigramSearchSupport(JdbcTemplate jdbcTemplate, ItemSearchProperties itemSearchProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requested = itemSearchProperties.getMode() == ItemSearchMode.TRIGRAM;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!requested) {
+            return;
+        }
+
+        available = isExtensionInstalled();
+        if (available) {
+            log.info("Item search uses pg_trgm indexes");
+        } else {
+            log.warn("pg_trgm is not installed, item search falls back to the LIKE query");
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    private boolean isExtensionInstalled() {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "select exists (select 1 from pg_extension where extname = 'pg_trgm')", Boolean.class));
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+}
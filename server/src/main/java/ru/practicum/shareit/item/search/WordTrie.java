@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+// Trie of words searched with a Levenshtein automaton: one dynamic-programming row per trie level,
+// and a branch is abandoned as soon as every entry of its row exceeds the allowed distance.
+class WordTrie {
+    private final Node root = new Node();
+
+    void add(String word) {
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.childOrCreate(word.charAt(i));
+        }
+        node.word = word;
+    }
+
+    void remove(String word) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        for (int i = 0; i < word.length() && node != null; i++) {
+            path.add(node);
+            node = node.child(word.charAt(i));
+        }
+        if (node == null || node.word == null) {
+            return;
+        }
+
+        node.word = null;
+        for (int i = word.length() - 1; i >= 0 && node.word == null && node.childCount() == 0; i--) {
+            Node parent = path.get(i);
+            parent.removeChild(word.charAt(i));
+            node = parent;
+        }
+    }
+
+    // Passes every word within maxDistance of the given one to the consumer, with its distance.
+    void search(String word, int maxDistance, ObjIntConsumer<String> consumer) {
+        Search search = new Search(word.toCharArray(), maxDistance, consumer);
+        for (int j = 0; j <= search.word.length; j++) {
+            search.rows[0][j] = j;
+        }
+
+        for (int i = 0; i < root.childCount(); i++) {
+            search.visit(root.childAt(i), root.keyAt(i), 1);
+        }
+    }
+
+    private static class Search {
+        private final char[] word;
+        private final int maxDistance;
+        private final ObjIntConsumer<String> consumer;
+        private int[][] rows;
+
+        private Search(char[] word, int maxDistance, ObjIntConsumer<String> consumer) {
+            this.word = word;
+            this.maxDistance = maxDistance;
+            this.consumer = consumer;
+            this.rows = new int[word.length + maxDistance + 2][word.length + 1];
+        }
+
+        private void visit(Node node, char key, int depth) {
+            if (depth == rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+                for (int i = depth; i < rows.length; i++) {
+                    rows[i] = new int[word.length + 1];
+                }
+            }
+            int[] previous = rows[depth - 1];
+            int[] row = rows[depth];
+
+            row[0] = depth;
+            int best = depth;
+            for (int j = 1; j < row.length; j++) {
+                int substitution = previous[j - 1] + (word[j - 1] == key ? 0 : 1);
+                int distance = Math.min(substitution, Math.min(previous[j], row[j - 1]) + 1);
+                row[j] = distance;
+                if (distance < best) {
+                    best = distance;
+                }
+            }
+
+            if (node.word != null && row[word.length] <= maxDistance) {
+                consumer.accept(node.word, row[word.length]);
+            }
+
+            if (best <= maxDistance) {
+                for (int i = 0; i < node.childCount(); i++) {
+                    visit(node.childAt(i), node.keyAt(i), depth + 1);
+                }
+            }
+        }
+    }
+
+    private static class Node extends CharTrieNode<Node> {
+        private String word;
+
+        @Override
+        protected Node newChild() {
+            return new Node();
+        }
+    }
+}
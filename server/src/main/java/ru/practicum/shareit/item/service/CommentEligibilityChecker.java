@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+// Whether a user has finished an approved booking of an item and so may comment on it.
+// An approved booking never changes status again and stays finished once its end has passed, so a positive
+// answer holds for as long as the user and the item exist and can be remembered; a negative one may not.
+@Component
+public class CommentEligibilityChecker {
+    private final BookingRepository bookingRepository;
+    private final Cache<Completion, Boolean> completions;
+
+    private record Completion(long userId, long itemId) {
+    }
+
+    public CommentEligibilityChecker(BookingRepository bookingRepository,
+                                     @Value("${shareit.item.comment-eligibility-cache.enabled:false}") boolean enabled,
+                                     @Value("${shareit.item.comment-eligibility-cache.maximum-size:100000}")
+                                     long maximumSize) {
+        this.bookingRepository = bookingRepository;
+        this.completions = enabled ? Caffeine.newBuilder().maximumSize(maximumSize).build() : null;
+    }
+
+    public boolean hasCompletedBooking(long userId, long itemId, LocalDateTime now) {
+        Completion completion = new Completion(userId, itemId);
+        if (completions != null && completions.getIfPresent(completion) != null) {
+            return true;
+        }
+
+        boolean completed = bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(userId, itemId,
+                BookingStatus.APPROVED, now);
+        if (completed && completions != null) {
+            completions.put(completion, Boolean.TRUE);
+        }
+        return completed;
+    }
+}
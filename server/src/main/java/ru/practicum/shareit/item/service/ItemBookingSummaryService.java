@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.service;
+
+import java.time.LocalDateTime;
+
+public interface ItemBookingSummaryService {
+    void refresh(long itemId, LocalDateTime now);
+
+    int refreshExpired(LocalDateTime now, int batchSize);
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional
+    public void refresh(long itemId, LocalDateTime now) {
+        // The row lock makes concurrent refreshes of one item run one after another,
+        // so the later one always sees the bookings approved by the earlier one.
+        ItemBookingSummary summary = itemBookingSummaryRepository.findByItemIdForUpdate(itemId)
+                .orElseGet(() -> new ItemBookingSummary(itemId));
+
+        Booking lastBooking = bookingRepository.findFirstByItemIdAndStatusAndEndBeforeOrderByEndDesc(
+                itemId, BookingStatus.APPROVED, now).orElse(null);
+        Booking nextBooking = bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                itemId, BookingStatus.APPROVED, now).orElse(null);
+
+        // The summary changes when the next booking starts or when any approved booking ends.
+        LocalDateTime validUntil = bookingRepository.findMinEndByItemIdAndStatusAndEndNotBefore(
+                itemId, BookingStatus.APPROVED, now);
+        if (nextBooking != null && (validUntil == null || nextBooking.getStart().isBefore(validUntil))) {
+            validUntil = nextBooking.getStart();
+        }
+
+        summary.setLastBooking(lastBooking);
+        summary.setNextBooking(nextBooking);
+        summary.setValidUntil(validUntil);
+        itemBookingSummaryRepository.save(summary);
+    }
+
+    // Every item is refreshed in a short transaction of its own, so a run holds one summary lock at a time
+    // and never waits on a batch approval while holding locks the approval needs.
+    @Override
+    public int refreshExpired(LocalDateTime now, int batchSize) {
+        List<Long> itemIds = itemBookingSummaryRepository.findItemIdsValidUntilBefore(now, Limit.of(batchSize));
+        itemIds.forEach(itemId -> transactionTemplate.executeWithoutResult(status -> refresh(itemId, now)));
+        return itemIds.size();
+    }
+}
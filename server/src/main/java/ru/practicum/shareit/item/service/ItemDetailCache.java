@@ -0,0 +1,157 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.event.CommentCreatedEvent;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemSnapshot;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// Read-through cache of the item detail view. The part every user sees (item and comments) and the part
+// only the owner sees (last and next booking) are cached separately, so comments and bookings invalidate
+// independently. The loader brings its own transaction; a hit does not touch the database.
+// The caches hold futures, so a miss is loaded in the caller's thread outside the cache's map lock:
+// a blocking load inside that lock would pin a virtual request thread to its carrier.
+@Component
+public class ItemDetailCache {
+    private final AsyncCache<Long, ItemView> items;
+    private final AsyncCache<Long, OwnerView> ownerViews;
+
+    // comments is the newest page only, commentCount the total.
+    public record ItemView(ItemSnapshot item, List<CommentDto> comments, int commentCount) {
+    }
+
+    // validUntil is the moment the last or next booking changes by the passage of time alone.
+    public record OwnerView(BookingResponseDto lastBooking, BookingResponseDto nextBooking,
+                            LocalDateTime validUntil) {
+    }
+
+    public ItemDetailCache(@Value("${shareit.item.detail-cache.enabled:false}") boolean enabled,
+                           @Value("${shareit.item.detail-cache.maximum-size:10000}") long maximumSize,
+                           @Value("${shareit.item.detail-cache.expire-after-write:PT10M}") Duration expireAfterWrite,
+                           MeterRegistry meterRegistry) {
+        if (!enabled) {
+            items = null;
+            ownerViews = null;
+            return;
+        }
+
+        items = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        ownerViews = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new OwnerViewExpiry(expireAfterWrite))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, items, "itemDetails");
+        CaffeineCacheMetrics.monitor(meterRegistry, ownerViews, "itemOwnerViews");
+    }
+
+    // The loader may throw to signal a missing item; nothing is cached then.
+    public ItemView getItem(long itemId, Supplier<ItemView> loader) {
+        if (items == null) {
+            return loader.get();
+        }
+        return get(items, itemId, loader);
+    }
+
+    // A view whose validUntil has already passed is returned but expires at once.
+    public OwnerView getOwnerView(long itemId, Supplier<OwnerView> loader) {
+        if (ownerViews == null) {
+            return loader.get();
+        }
+        return get(ownerViews, itemId, loader);
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        invalidate(event.itemId());
+    }
+
+    @TransactionalEventListener
+    public void onCommentCreated(CommentCreatedEvent event) {
+        if (items != null) {
+            items.synchronous().invalidate(event.itemId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (ownerViews != null) {
+            ownerViews.synchronous().invalidate(event.itemId());
+        }
+    }
+
+    // The cascade removes the user's items, comments and bookings, which may be on any cached view.
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        if (items != null) {
+            items.synchronous().invalidateAll();
+            ownerViews.synchronous().invalidateAll();
+        }
+    }
+
+    private void invalidate(long itemId) {
+        if (items != null) {
+            items.synchronous().invalidate(itemId);
+            ownerViews.synchronous().invalidate(itemId);
+        }
+    }
+
+    // Concurrent misses of one item share the first one's load; a failed load is not cached.
+    private <T> T get(AsyncCache<Long, T> cache, long itemId, Supplier<T> loader) {
+        CompletableFuture<T> loading = new CompletableFuture<>();
+        CompletableFuture<T> cached = cache.get(itemId, (id, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loading.complete(loader.get());
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        return ParallelReadExecutor.join(cached);
+    }
+
+    // Owner views live until their validUntil, but never longer than expireAfterWrite.
+    private record OwnerViewExpiry(Duration expireAfterWrite) implements Expiry<Long, OwnerView> {
+        @Override
+        public long expireAfterCreate(Long itemId, OwnerView view, long currentTime) {
+            if (view.validUntil() == null) {
+                return expireAfterWrite.toNanos();
+            }
+            Duration untilChange = Duration.between(LocalDateTime.now(), view.validUntil());
+            if (untilChange.isNegative()) {
+                return 0;
+            }
+            return Math.min(untilChange.toNanos(), expireAfterWrite.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(Long itemId, OwnerView view, long currentTime, long currentDuration) {
+            return expireAfterCreate(itemId, view, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long itemId, OwnerView view, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -13,11 +16,19 @@ public interface ItemService {
 
     ItemResponseDto get(long itemId, long userId);
 
-    List<ItemResponseDto> getItemsByUser(long userId);
+    List<ItemResponseDto> getItemsByUser(long userId, Long lastId, int size);
 
     void delete(long itemId, long userId);
 
-    List<ItemResponseDto> searchItems(String searchText);
+    List<ItemResponseDto> searchItems(String searchText, int from, int size);
+
+    List<ItemResponseDto> fuzzySearchItems(String searchText, int from, int size);
+
+    List<ItemSuggestionDto> suggestItemNames(String prefix, int size);
 
     CommentDto createComment(CommentDto commentDto, long itemId, long userId);
+
+    List<CommentDto> getComments(long itemId, LocalDateTime lastCreated, Long lastId, int size);
+
+    List<AvailabilitySlotDto> getAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
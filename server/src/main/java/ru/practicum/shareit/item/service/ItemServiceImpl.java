@@ -1,6 +1,9 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
@@ -8,35 +11,71 @@ import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPeriod;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.event.CommentCreatedEvent;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemSnapshot;
 import ru.practicum.shareit.item.exception.NotOwnerException;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.FullTextQuery;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSearchMode;
+import ru.practicum.shareit.item.search.ItemSearchProperties;
+import ru.practicum.shareit.item.search.NameSuggestionTrie;
+import ru.practicum.shareit.item.search.TrigramSearchSupport;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int MAX_PAGE_SIZE = 100;
+    // Item views carry the newest comments only, with commentCount as the total; the rest is paged through
+    // getComments.
+    private static final int NEWEST_COMMENT_COUNT = 20;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final ItemSearchProperties itemSearchProperties;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemDetailCache itemDetailCache;
+    private final ParallelReadExecutor parallelReads;
+    private final CommentEligibilityChecker commentEligibilityChecker;
+    private final TrigramSearchSupport trigramSearchSupport;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -55,6 +94,8 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item createdItem = itemRepository.save(item);
+        itemBookingSummaryRepository.save(new ItemBookingSummary(createdItem.getId()));
+        eventPublisher.publishEvent(new ItemChangedEvent(null, ItemMapper.itemToSnapshot(createdItem)));
         return ItemMapper.itemToResponseDtoWithOutComments(createdItem);
     }
 
@@ -74,6 +115,8 @@ public class ItemServiceImpl implements ItemService {
             throw new NotOwnerException("Only item owner can modify it");
         }
 
+        ItemSnapshot before = ItemMapper.itemToSnapshot(existingItem);
+
         if (item.getName() != null) {
             existingItem.setName(item.getName());
         }
@@ -87,44 +130,120 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item updatedItem = itemRepository.save(existingItem);
+        eventPublisher.publishEvent(new ItemChangedEvent(before, ItemMapper.itemToSnapshot(updatedItem)));
 
         return ItemMapper.itemToResponseDtoWithOutComments(updatedItem);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ItemResponseDto get(long itemId, long userId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Item with id " + itemId + " not found"));
+        ItemDetailCache.ItemView view = itemDetailCache.getItem(itemId,
+                () -> parallelReads.load(() -> loadItemView(itemId)));
+
+        ItemResponseDto itemResponseDto = ItemMapper.snapshotToResponseDto(view.item());
+        itemResponseDto.setComments(view.comments());
+        itemResponseDto.setCommentCount(view.commentCount());
+        if (!view.item().ownerId().equals(userId)) {
+            return itemResponseDto;
+        }
 
-        List<CommentDto> comments = commentRepository.findAllByItemId(itemId).stream()
-                .map(CommentMapper::commentToResponseDto)
-                .collect(Collectors.toList());
+        ItemDetailCache.OwnerView ownerView = itemDetailCache.getOwnerView(itemId,
+                () -> parallelReads.load(() -> loadOwnerView(itemId)));
+        itemResponseDto.setLastBooking(ownerView.lastBooking());
+        itemResponseDto.setNextBooking(ownerView.nextBooking());
+        return itemResponseDto;
+    }
+
+    private ItemDetailCache.ItemView loadItemView(long itemId) {
+        CompletableFuture<Optional<Item>> item = parallelReads.submit(() -> itemRepository.findById(itemId));
+        CompletableFuture<List<CommentDto>> comments = parallelReads.submit(() ->
+                commentRepository.findByItemIdOrderByCreatedDateDescIdDesc(itemId, ScrollPosition.keyset(),
+                                Limit.of(NEWEST_COMMENT_COUNT)).stream()
+                        .map(CommentMapper::commentToResponseDto)
+                        .toList());
 
-        boolean isOwner = item.getOwner().getId().equals(userId);
+        Item found = ParallelReadExecutor.join(item)
+                .orElseThrow(() -> new NotFoundException("Item with id " + itemId + " not found"));
+        return new ItemDetailCache.ItemView(ItemMapper.itemToSnapshot(found), ParallelReadExecutor.join(comments),
+                found.getCommentCount());
+    }
 
-        if (isOwner) {
-            BookingResponseDto lastBooking = bookingRepository.findFirstByItemIdAndStatusAndEndBeforeOrderByEndDesc(
-                            itemId, BookingStatus.APPROVED, LocalDateTime.now())
-                    .map(BookingMapper::bookingToResponseDto)
-                    .orElse(null);
-            BookingResponseDto nextBooking = bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
-                            itemId, BookingStatus.APPROVED, LocalDateTime.now())
-                    .map(BookingMapper::bookingToResponseDto)
-                    .orElse(null);
-            return ItemMapper.itemToResponseDto(item, comments, lastBooking, nextBooking);
-        } else {
-            return ItemMapper.itemToResponseDto(item, comments, null, null);
+    // A fresh summary is cached until its valid_until. A stale one is refreshed in the background;
+    // until then the bookings are read directly and the result is not kept.
+    // The summary is read through parallelReads as well, so the caller never holds a connection of its own.
+    private ItemDetailCache.OwnerView loadOwnerView(long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<ItemDetailCache.OwnerView> summary = ParallelReadExecutor.join(parallelReads.submit(() ->
+                itemBookingSummaryRepository.findWithBookingsByItemId(itemId)
+                        .filter(itemBookingSummary -> itemBookingSummary.isFreshAt(now))
+                        .map(itemBookingSummary -> new ItemDetailCache.OwnerView(
+                                toResponseDto(itemBookingSummary.getLastBooking()),
+                                toResponseDto(itemBookingSummary.getNextBooking()),
+                                itemBookingSummary.getValidUntil()))));
+
+        if (summary.isPresent()) {
+            return summary.get();
         }
+
+        CompletableFuture<BookingResponseDto> lastBooking = parallelReads.submit(() ->
+                bookingRepository.findFirstByItemIdAndStatusAndEndBeforeOrderByEndDesc(
+                                itemId, BookingStatus.APPROVED, now)
+                        .map(BookingMapper::bookingToResponseDto)
+                        .orElse(null));
+        CompletableFuture<BookingResponseDto> nextBooking = parallelReads.submit(() ->
+                bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                                itemId, BookingStatus.APPROVED, now)
+                        .map(BookingMapper::bookingToResponseDto)
+                        .orElse(null));
+        return new ItemDetailCache.OwnerView(ParallelReadExecutor.join(lastBooking),
+                ParallelReadExecutor.join(nextBooking), now);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemResponseDto> getItemsByUser(long userId) {
-        List<Item> items = itemRepository.findAllByOwnerId(userId);
+    public List<ItemResponseDto> getItemsByUser(long userId, Long lastId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<Item> items = itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(userId,
+                lastId != null ? lastId : 0L, Limit.of(size));
+        if (items.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, Booking> lastBookings = new HashMap<>();
+        Map<Long, Booking> nextBookings = new HashMap<>();
+        Set<Long> staleItemIds = new HashSet<>(itemIds);
+        for (ItemBookingSummary summary : itemBookingSummaryRepository.findWithBookingsByItemIdIn(itemIds)) {
+            if (summary.isFreshAt(now)) {
+                staleItemIds.remove(summary.getItemId());
+                lastBookings.put(summary.getItemId(), summary.getLastBooking());
+                nextBookings.put(summary.getItemId(), summary.getNextBooking());
+            }
+        }
+
+        // Items without a fresh summary get their bookings from two set-based queries for the whole page.
+        if (!staleItemIds.isEmpty()) {
+            bookingRepository.findLastByItemIdIn(staleItemIds, BookingStatus.APPROVED, now)
+                    .forEach(booking -> lastBookings.putIfAbsent(booking.getItem().getId(), booking));
+            bookingRepository.findNextByItemIdIn(staleItemIds, BookingStatus.APPROVED, now)
+                    .forEach(booking -> nextBookings.putIfAbsent(booking.getItem().getId(), booking));
+        }
+
+        Map<Long, List<CommentDto>> comments = commentRepository.findNewestByItemIdIn(itemIds, NEWEST_COMMENT_COUNT)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::commentToResponseDto, Collectors.toList())));
 
         return items.stream()
-                .map(ItemMapper::itemToResponseDtoWithOutComments)
+                .map(item -> ItemMapper.itemToResponseDto(item, comments.getOrDefault(item.getId(), List.of()),
+                        toResponseDto(lastBookings.get(item.getId())), toResponseDto(nextBookings.get(item.getId()))))
                 .collect(Collectors.toList());
     }
 
@@ -138,18 +257,68 @@ public class ItemServiceImpl implements ItemService {
             throw new NotOwnerException("Only item owner can delete it");
         }
         itemRepository.deleteById(itemId);
+        eventPublisher.publishEvent(new ItemChangedEvent(ItemMapper.itemToSnapshot(existingItem), null));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemResponseDto> searchItems(String searchText) {
+    public List<ItemResponseDto> searchItems(String searchText, int from, int size) {
+        validateSearchPage(from, size);
+
         if (searchText == null || searchText.isBlank()) {
             return List.of();
         }
 
-        List<Item> items = itemRepository.search(searchText);
-        return items.stream()
-                .map(ItemMapper::itemToResponseDtoWithOutComments)
+        if (itemSearchProperties.getMode() == ItemSearchMode.INDEX) {
+            return itemSearchIndex.search(searchText, from, size).stream()
+                    .map(ItemMapper::snapshotToResponseDto)
+                    .collect(Collectors.toList());
+        }
+
+        return itemSearchCache.get(searchText, from, size, () -> {
+            List<Item> items = switch (itemSearchProperties.getMode()) {
+                case FULL_TEXT -> searchFullText(searchText, from, size);
+                case TRIGRAM -> trigramSearchSupport.isAvailable()
+                        ? itemRepository.searchTrigram(searchText, from, size)
+                        : itemRepository.search(searchText, from, size);
+                default -> itemRepository.search(searchText, from, size);
+            };
+            return items.stream()
+                    .map(ItemMapper::itemToResponseDtoWithOutComments)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemResponseDto> fuzzySearchItems(String searchText, int from, int size) {
+        if (!itemSearchIndex.isFuzzyEnabled()) {
+            return searchItems(searchText, from, size);
+        }
+
+        validateSearchPage(from, size);
+
+        if (searchText == null || searchText.isBlank()) {
+            return List.of();
+        }
+
+        return itemSearchIndex.fuzzySearch(searchText, from, size).stream()
+                .map(ItemMapper::snapshotToResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemSuggestionDto> suggestItemNames(String prefix, int size) {
+        if (size < 1 || size > NameSuggestionTrie.MAX_SUGGESTIONS) {
+            throw new ValidationException("Suggestion count must be between 1 and " + NameSuggestionTrie.MAX_SUGGESTIONS);
+        }
+
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+
+        return itemSearchIndex.suggest(prefix, size).stream()
+                .map(suggestion -> new ItemSuggestionDto(suggestion.name(), suggestion.count()))
                 .collect(Collectors.toList());
     }
 
@@ -162,19 +331,102 @@ public class ItemServiceImpl implements ItemService {
         User existingAuthor = userRepository.findById(userId).orElseThrow(() ->
                 new NotFoundException("User with id " + userId + " not found"));
 
-        List<Booking> bookings = bookingRepository.findByBookerIdAndItemIdAndStatusAndEndBefore(
-                userId, itemId, BookingStatus.APPROVED, LocalDateTime.now());
-
-        if (bookings.isEmpty()) {
+        if (!commentEligibilityChecker.hasCompletedBooking(userId, itemId, LocalDateTime.now())) {
             throw new ValidationException("Only users who have rented and completed this item can leave a review.");
         }
 
         Comment comment = CommentMapper.requestDtoToComment(commentDto);
         comment.setItem(existingItem);
         comment.setAuthor(existingAuthor);
+        comment.setAuthorName(existingAuthor.getName());
         comment.setCreatedDate(LocalDateTime.now());
 
         Comment createdComment = commentRepository.save(comment);
+        itemRepository.incrementCommentCount(itemId);
+        eventPublisher.publishEvent(new CommentCreatedEvent(itemId));
         return CommentMapper.commentToResponseDto(createdComment);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommentDto> getComments(long itemId, LocalDateTime lastCreated, Long lastId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item with id " + itemId + " not found");
+        }
+
+        return commentRepository.findByItemIdOrderByCreatedDateDescIdDesc(itemId,
+                        commentPositionAfter(lastCreated, lastId), Limit.of(size)).stream()
+                .map(CommentMapper::commentToResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailabilitySlotDto> getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Parameter from must be before to");
+        }
+
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item with id " + itemId + " not found");
+        }
+
+        List<BookingPeriod> busyPeriods = bookingRepository
+                .findByItemIdAndStatusInAndStartBeforeAndEndAfterOrderByStartAsc(itemId, BookingStatus.OCCUPYING, to, from);
+
+        List<AvailabilitySlotDto> freeSlots = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (BookingPeriod busy : busyPeriods) {
+            if (busy.getStart().isAfter(freeFrom)) {
+                freeSlots.add(new AvailabilitySlotDto(freeFrom, busy.getStart()));
+            }
+            if (busy.getEnd().isAfter(freeFrom)) {
+                freeFrom = busy.getEnd();
+            }
+        }
+
+        if (freeFrom.isBefore(to)) {
+            freeSlots.add(new AvailabilitySlotDto(freeFrom, to));
+        }
+        return freeSlots;
+    }
+
+    private void validateSearchPage(int from, int size) {
+        if (from < 0 || from > itemSearchProperties.getMaxFrom()) {
+            throw new ValidationException("Parameter from must be between 0 and " + itemSearchProperties.getMaxFrom());
+        }
+
+        if (size < 1 || size > itemSearchProperties.getMaxSize()) {
+            throw new ValidationException("Page size must be between 1 and " + itemSearchProperties.getMaxSize());
+        }
+    }
+
+    private List<Item> searchFullText(String searchText, int from, int size) {
+        String query = FullTextQuery.prefixQuery(searchText);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        return itemRepository.searchFullText(query, from, size);
+    }
+
+    // The cursor is the (created, id) of the last comment on the previous page.
+    private ScrollPosition commentPositionAfter(LocalDateTime lastCreated, Long lastId) {
+        if (lastCreated == null && lastId == null) {
+            return ScrollPosition.keyset();
+        }
+
+        if (lastCreated == null || lastId == null) {
+            throw new ValidationException("Parameters lastCreated and lastId must be passed together");
+        }
+
+        return ScrollPosition.forward(Map.of("createdDate", lastCreated, "id", lastId));
+    }
+
+    private static BookingResponseDto toResponseDto(Booking booking) {
+        return booking != null ? BookingMapper.bookingToResponseDto(booking) : null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+// Runs independent reads of one request side by side when shareit.item.detail.parallel-reads is set.
+// Every read gets a virtual thread and its own read-only transaction, so it holds a pooled connection
+// of its own while it runs. Otherwise reads run at once in the caller's thread and transaction.
+// The caller must not hold a connection while it waits for parallel reads: with every connection held
+// by waiting callers, no read could start. So a load made of submitted reads runs in one read-only
+// transaction only when the reads are sequential, and it must not touch the database outside them.
+@Component
+public class ParallelReadExecutor implements DisposableBean {
+    private final ExecutorService executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate sharedReadOnlyTransaction;
+
+    public ParallelReadExecutor(@Value("${shareit.item.detail.parallel-reads:false}") boolean enabled,
+                                PlatformTransactionManager transactionManager) {
+        this.executor = enabled ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.sharedReadOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.sharedReadOnlyTransaction.setReadOnly(true);
+    }
+
+    public <T> T load(Supplier<T> load) {
+        if (executor != null) {
+            return load.get();
+        }
+        return sharedReadOnlyTransaction.execute(status -> load.get());
+    }
+
+    // The read must fetch everything it needs inside the supplier, lazy associations included.
+    public <T> CompletableFuture<T> submit(Supplier<T> read) {
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(read.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> read.get()), executor);
+    }
+
+    // Waits for a submitted read and rethrows its exception as is.
+    public static <T> T join(CompletableFuture<T> read) {
+        try {
+            return read.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.user.event;
+
+// Items, bookings and comments of the user are removed by the database cascade without events of their own.
+public record UserDeletedEvent(Long userId) {
+}
@@ -46,5 +46,43 @@ CREATE INDEX IF NOT EXISTS idx_bookings_booker_id ON bookings(booker_id);
 CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments(item_id);
 CREATE INDEX IF NOT EXISTS idx_comments_author_id ON comments(author_id);
 
-CREATE INDEX IF NOT EXISTS idx_bookings_status ON bookings(status);
+DROP INDEX IF EXISTS idx_bookings_status;
+CREATE INDEX IF NOT EXISTS idx_bookings_status_start ON bookings(status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start_id ON bookings(booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_end ON bookings(item_id, start_date, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_status_end ON bookings(booker_id, item_id, status, end_date);
 
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+  item_id BIGINT PRIMARY KEY NOT NULL REFERENCES items(id) ON DELETE CASCADE,
+  last_booking_id BIGINT REFERENCES bookings(id) ON DELETE SET NULL,
+  next_booking_id BIGINT REFERENCES bookings(id) ON DELETE SET NULL,
+  valid_until TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_valid_until ON item_booking_summary(valid_until);
+
+INSERT INTO item_booking_summary (item_id, valid_until)
+SELECT i.id, TIMESTAMP '1970-01-01 00:00:00' FROM items AS i
+WHERE NOT EXISTS (SELECT 1 FROM item_booking_summary AS s WHERE s.item_id = i.id);
+
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS author_name VARCHAR(255);
+
+UPDATE comments SET author_name = (SELECT u.name FROM users AS u WHERE u.id = comments.author_id)
+WHERE author_name IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_created_id ON comments(item_id, created_date DESC, id DESC);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS comment_count INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE items SET comment_count = (SELECT COUNT(*) FROM comments AS c WHERE c.item_id = items.id)
+WHERE comment_count = 0 AND EXISTS (SELECT 1 FROM comments AS c WHERE c.item_id = items.id);
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+
+UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items AS i WHERE i.id = bookings.item_id)
+WHERE owner_id IS NULL;
+
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start_id ON bookings(owner_id, start_date DESC, id DESC);
+DROP INDEX IF EXISTS idx_bookings_item_start_id;
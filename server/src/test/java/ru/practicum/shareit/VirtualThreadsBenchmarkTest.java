@@ -0,0 +1,185 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Throughput of GET /items/{id} on platform request threads and on virtual ones, at 1k and 10k concurrent
+// clients. The server runs in a separate JVM, so neither side runs out of file descriptors at 10k connections;
+// its pinned virtual threads are printed to the server output at the end.
+// mvn -pl server test -Pbenchmark
+@Tag("benchmark")
+class VirtualThreadsBenchmarkTest {
+    private static final int[] CLIENTS = {1_000, 10_000};
+    private static final int REQUESTS_PER_CLIENT = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void benchmark_itemDetail_platformVersusVirtualThreads() throws Exception {
+        List<String> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            int port = freePort();
+            Path output = Files.createTempFile("shareit-benchmark", ".log");
+            Process server = startServer(port, virtualThreads, output);
+            try {
+                String baseUrl = "http://localhost:" + port;
+                awaitStarted(baseUrl, server);
+                long ownerId = create(baseUrl + "/users", null, "{\"name\":\"Owner\",\"email\":\"owner@test.com\"}");
+                long itemId = create(baseUrl + "/items", ownerId,
+                        "{\"name\":\"Drill\",\"description\":\"Powerful drill\",\"available\":true}");
+
+                // Warms up the JIT and the connection pools of both sides.
+                run(baseUrl + "/items/" + itemId, ownerId, 200);
+                for (int clients : CLIENTS) {
+                    results.add((virtualThreads ? "virtual " : "platform") + " threads, "
+                            + run(baseUrl + "/items/" + itemId, ownerId, clients));
+                }
+            } finally {
+                server.destroy();
+                server.waitFor();
+            }
+
+            List<String> pinned = Files.readAllLines(output).stream()
+                    .filter(line -> line.contains("<== monitors"))
+                    .toList();
+            results.add((virtualThreads ? "virtual " : "platform") + " threads, pinned frames: " + pinned.size());
+            pinned.stream().distinct().forEach(line -> results.add("    " + line.strip()));
+            Files.delete(output);
+        }
+        results.forEach(System.out::println);
+    }
+
+    // The owner's view, so every request reads the item, its comments and its last and next bookings.
+    private String run(String url, long userId, int clients) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        AtomicLongArray micros = new AtomicLongArray(clients * REQUESTS_PER_CLIENT);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long began;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        long requestStart = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                        micros.set(completed.getAndIncrement(), (System.nanoTime() - requestStart) / 1000);
+                    }
+                    return null;
+                });
+            }
+            began = System.nanoTime();
+            start.countDown();
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - began) / 1_000_000);
+
+        long[] sorted = new long[micros.length()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = micros.get(i);
+        }
+        Arrays.sort(sorted);
+        return String.format("%5d clients: %6d req/s, p50 = %6d us, p99 = %7d us, errors = %d", clients,
+                sorted.length * 1000L / elapsedMillis, percentile(sorted, 50), percentile(sorted, 99), errors.get());
+    }
+
+    private long create(String url, Long userId, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    // The benchmarked server: in-memory H2, no detail cache so every view reads the database, enough Tomcat
+    // connections to hold every client at once and none of the test profile's transaction logging.
+    private static Process startServer(int port, boolean virtualThreads, Path output) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-Djdk.tracePinnedThreads=short",
+                "-cp", System.getProperty("java.class.path"), ShareItServer.class.getName(),
+                "--spring.profiles.active=test",
+                "--server.port=" + port,
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=10000",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--shareit.item.detail-cache.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.orm.jpa=WARN",
+                "--logging.level.org.springframework.transaction=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN")
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .directory(new File(System.getProperty("java.io.tmpdir")))
+                .start();
+    }
+
+    private void awaitStarted(String baseUrl, Process server) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+        for (int attempt = 0; attempt < 120; attempt++) {
+            assertThat(server.isAlive()).as("benchmarked server exited").isTrue();
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet.
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Benchmarked server did not start");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+}
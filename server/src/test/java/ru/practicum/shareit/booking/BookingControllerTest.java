@@ -8,14 +8,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionOutcome;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -90,6 +95,18 @@ public class BookingControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createBooking_overlapping_shouldReturnConflict() throws Exception {
+        when(bookingService.create(any(BookingRequestDto.class), eq(2L)))
+                .thenThrow(new BookingOverlapException("Item with id 1 is already booked for the requested period"));
+
+        mockMvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void approveOrRejectBooking_shouldReturnUpdatedBooking() throws Exception {
         responseDto.setStatus(BookingStatus.APPROVED);
@@ -114,6 +131,53 @@ public class BookingControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void approveOrRejectBookings_shouldReturnOutcomes() throws Exception {
+        BookingBatchRequestDto batchDto = new BookingBatchRequestDto();
+        batchDto.setBookingIds(List.of(10L, 11L));
+        when(bookingService.approveOrRejectBookings(eq(List.of(10L, 11L)), eq(1L), eq(false)))
+                .thenReturn(List.of(
+                        new BookingDecisionResultDto(10L, BookingDecisionOutcome.APPLIED, BookingStatus.REJECTED),
+                        new BookingDecisionResultDto(11L, BookingDecisionOutcome.NOT_FOUND, null)));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("approved", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].outcome").value("APPLIED"))
+                .andExpect(jsonPath("$[0].status").value("REJECTED"))
+                .andExpect(jsonPath("$[1].outcome").value("NOT_FOUND"));
+    }
+
+    @Test
+    void approveOrRejectBookings_withEmptyIds_shouldReturnBadRequest() throws Exception {
+        BookingBatchRequestDto batchDto = new BookingBatchRequestDto();
+        batchDto.setBookingIds(List.of());
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchDto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void approveOrRejectBookings_withNullId_shouldReturnBadRequest() throws Exception {
+        BookingBatchRequestDto batchDto = new BookingBatchRequestDto();
+        batchDto.setBookingIds(Arrays.asList(10L, null));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchDto)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getBooking_shouldReturnBooking() throws Exception {
         when(bookingService.get(10L, 2L)).thenReturn(responseDto);
@@ -127,7 +191,7 @@ public class BookingControllerTest {
     @Test
     void getBookingsByBooker_shouldReturnList() throws Exception {
         List<BookingResponseDto> list = List.of(responseDto);
-        when(bookingService.getAllBookingsByBooker(eq(2L), eq(BookingState.ALL))).thenReturn(list);
+        when(bookingService.getAllBookingsByBooker(eq(2L), eq(BookingState.ALL), isNull(), isNull(), eq(20))).thenReturn(list);
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 2L))
@@ -139,7 +203,7 @@ public class BookingControllerTest {
     @Test
     void getBookingsByBooker_withStateParam_shouldPassState() throws Exception {
         List<BookingResponseDto> list = List.of(responseDto);
-        when(bookingService.getAllBookingsByBooker(eq(2L), eq(BookingState.FUTURE))).thenReturn(list);
+        when(bookingService.getAllBookingsByBooker(eq(2L), eq(BookingState.FUTURE), isNull(), isNull(), eq(20))).thenReturn(list);
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 2L)
@@ -151,11 +215,27 @@ public class BookingControllerTest {
     @Test
     void getOwnerBookings_shouldReturnList() throws Exception {
         List<BookingResponseDto> list = List.of(responseDto);
-        when(bookingService.getAllBookingsByOwner(eq(1L), eq(BookingState.ALL))).thenReturn(list);
+        when(bookingService.getAllBookingsByOwner(eq(1L), eq(BookingState.ALL), isNull(), isNull(), eq(20))).thenReturn(list);
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(1));
     }
+
+    @Test
+    void getOwnerBookings_withCursor_shouldPassCursor() throws Exception {
+        LocalDateTime lastStart = LocalDateTime.of(2030, 1, 1, 12, 0);
+        List<BookingResponseDto> list = List.of(responseDto);
+        when(bookingService.getAllBookingsByOwner(eq(1L), eq(BookingState.ALL), eq(lastStart), eq(5L), eq(10)))
+                .thenReturn(list);
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("lastStart", "2030-01-01T12:00:00")
+                        .param("lastId", "5")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
 }
\ No newline at end of file
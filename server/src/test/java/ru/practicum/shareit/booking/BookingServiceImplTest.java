@@ -1,26 +1,45 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecisionOutcome;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest
 @Transactional
@@ -39,6 +58,15 @@ class BookingServiceImplTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private ItemBookingSummaryRepository itemBookingSummaryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private User owner;
     private User booker;
     private Item item;
@@ -123,6 +151,76 @@ class BookingServiceImplTest {
                 .hasMessageContaining("Item it is not available for booking");
     }
 
+    @Test
+    void createBooking_overlappingActiveBooking_shouldThrowBookingOverlapException() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        createBooking(booker, item, start, start.plusDays(2), BookingStatus.APPROVED);
+
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setItemId(item.getId());
+        requestDto.setStart(start.plusDays(1));
+        requestDto.setEnd(start.plusDays(3));
+
+        assertThatThrownBy(() -> bookingService.create(requestDto, booker.getId()))
+                .isInstanceOf(BookingOverlapException.class)
+                .hasMessageContaining("is already booked for the requested period");
+    }
+
+    @Test
+    void createBooking_adjacentOrRejectedBooking_shouldSucceed() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        createBooking(booker, item, start, start.plusDays(2), BookingStatus.APPROVED);
+        createBooking(booker, item, start.plusDays(2), start.plusDays(4), BookingStatus.REJECTED);
+
+        BookingRequestDto requestDto = new BookingRequestDto();
+        requestDto.setItemId(item.getId());
+        requestDto.setStart(start.plusDays(2));
+        requestDto.setEnd(start.plusDays(4));
+
+        BookingResponseDto created = bookingService.create(requestDto, booker.getId());
+
+        assertThat(created.getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void createBooking_concurrentOverlappingRequests_shouldAcceptOnlyOne() throws Exception {
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            BookingRequestDto requestDto = new BookingRequestDto();
+            requestDto.setItemId(item.getId());
+            requestDto.setStart(LocalDateTime.now().plusDays(1));
+            requestDto.setEnd(LocalDateTime.now().plusDays(2));
+
+            CountDownLatch startSignal = new CountDownLatch(1);
+            Callable<BookingResponseDto> task = () -> {
+                startSignal.await();
+                return bookingService.create(requestDto, booker.getId());
+            };
+            List<Future<BookingResponseDto>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(task));
+            }
+            startSignal.countDown();
+
+            int created = 0;
+            for (Future<BookingResponseDto> result : results) {
+                try {
+                    result.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(BookingOverlapException.class);
+                }
+            }
+            assertThat(created).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+            userRepository.deleteById(owner.getId());
+            userRepository.deleteById(booker.getId());
+        }
+    }
+
     @Test
     void approveBooking_shouldSetStatusApproved() {
         Booking booking = createWaitingBooking();
@@ -134,6 +232,18 @@ class BookingServiceImplTest {
         assertThat(updated.getStatus()).isEqualTo(BookingStatus.APPROVED);
     }
 
+    @Test
+    void approveBooking_shouldRefreshItemBookingSummary() {
+        Booking booking = createWaitingBooking();
+
+        bookingService.approveOrRejectBooking(booking.getId(), owner.getId(), true);
+
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(item.getId()).orElseThrow();
+        assertThat(summary.getLastBooking()).isNull();
+        assertThat(summary.getNextBooking().getId()).isEqualTo(booking.getId());
+        assertThat(summary.getValidUntil()).isEqualTo(summary.getNextBooking().getStart());
+    }
+
     @Test
     void approveBooking_byNonOwner_shouldThrowValidationException() {
         Booking booking = createWaitingBooking();
@@ -143,6 +253,119 @@ class BookingServiceImplTest {
                 .hasMessageContaining("Only the owner of this item can approve the booking");
     }
 
+    @Test
+    void approveBooking_alreadyApproved_shouldThrowValidationException() {
+        Booking booking = createWaitingBooking();
+        bookingService.approveOrRejectBooking(booking.getId(), owner.getId(), true);
+
+        assertThatThrownBy(() -> bookingService.approveOrRejectBooking(booking.getId(), owner.getId(), false))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("is already APPROVED");
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void approveOrRejectBooking_concurrentDecisions_shouldApplyOnlyOne() throws Exception {
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Booking booking = createWaitingBooking();
+
+            CountDownLatch startSignal = new CountDownLatch(1);
+            List<Future<BookingResponseDto>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                boolean approve = i % 2 == 0;
+                results.add(executor.submit(() -> {
+                    startSignal.await();
+                    return bookingService.approveOrRejectBooking(booking.getId(), owner.getId(), approve);
+                }));
+            }
+            startSignal.countDown();
+
+            List<BookingStatus> applied = new ArrayList<>();
+            for (Future<BookingResponseDto> result : results) {
+                try {
+                    applied.add(result.get().getStatus());
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ValidationException.class);
+                }
+            }
+            assertThat(applied).hasSize(1);
+            assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus())
+                    .isEqualTo(applied.getFirst());
+        } finally {
+            executor.shutdownNow();
+            userRepository.deleteById(owner.getId());
+            userRepository.deleteById(booker.getId());
+        }
+    }
+
+    @Test
+    void approveOrRejectBookings_shouldReturnOutcomePerBooking() {
+        User other = new User();
+        other.setName("Other");
+        other.setEmail("other@test.com");
+        other = userRepository.save(other);
+
+        Item otherItem = new Item();
+        otherItem.setName("Saw");
+        otherItem.setDescription("Sharp saw");
+        otherItem.setAvailable(true);
+        otherItem.setOwner(other);
+        otherItem = itemRepository.save(otherItem);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking first = createBooking(booker, item, start, start.plusDays(1), BookingStatus.WAITING);
+        Booking second = createBooking(booker, item, start.plusDays(2), start.plusDays(3), BookingStatus.WAITING);
+        Booking decided = createBooking(booker, item, start.plusDays(4), start.plusDays(5), BookingStatus.REJECTED);
+        Booking foreign = createBooking(booker, otherItem, start, start.plusDays(1), BookingStatus.WAITING);
+
+        List<BookingDecisionResultDto> results = bookingService.approveOrRejectBookings(
+                List.of(first.getId(), decided.getId(), foreign.getId(), 999L, second.getId(), first.getId()),
+                owner.getId(), true);
+
+        assertThat(results).extracting(BookingDecisionResultDto::getBookingId, BookingDecisionResultDto::getOutcome)
+                .containsExactly(
+                        tuple(first.getId(), BookingDecisionOutcome.APPLIED),
+                        tuple(decided.getId(), BookingDecisionOutcome.ALREADY_DECIDED),
+                        tuple(foreign.getId(), BookingDecisionOutcome.NOT_OWNER),
+                        tuple(999L, BookingDecisionOutcome.NOT_FOUND),
+                        tuple(second.getId(), BookingDecisionOutcome.APPLIED));
+
+        assertThat(bookingRepository.findById(first.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(second.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(decided.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.REJECTED);
+        assertThat(bookingRepository.findById(foreign.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void expireWaitingBookings_shouldExpireStartedWaitingBookingsInBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking stale = createBooking(booker, item, now.minusDays(2), now.minusDays(1), BookingStatus.WAITING);
+        Booking started = createBooking(booker, item, now.minusHours(1), now.plusDays(1), BookingStatus.WAITING);
+        Booking upcoming = createBooking(booker, item, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+        Booking approved = createBooking(booker, item, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+
+        assertThat(bookingService.expireWaitingBookings(now, 1)).isEqualTo(1);
+        assertThat(bookingService.expireWaitingBookings(now, 1)).isEqualTo(1);
+        assertThat(bookingService.expireWaitingBookings(now, 1)).isZero();
+
+        assertThat(bookingRepository.findById(stale.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.EXPIRED);
+        assertThat(bookingRepository.findById(started.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.EXPIRED);
+        assertThat(bookingRepository.findById(upcoming.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.WAITING);
+        assertThat(bookingRepository.findById(approved.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+    }
+
     @Test
     void getBooking_shouldReturnDto() {
         Booking booking = createWaitingBooking();
@@ -176,29 +399,29 @@ class BookingServiceImplTest {
         Booking waiting = createBooking(booker, item, LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(6), BookingStatus.WAITING);
         Booking rejected = createBooking(booker, item, LocalDateTime.now().plusDays(7), LocalDateTime.now().plusDays(8), BookingStatus.REJECTED);
 
-        List<BookingResponseDto> all = bookingService.getAllBookingsByBooker(booker.getId(), BookingState.ALL);
+        List<BookingResponseDto> all = bookingService.getAllBookingsByBooker(booker.getId(), BookingState.ALL, null, null, 20);
         assertThat(all).hasSize(5);
         assertThat(all).extracting(BookingResponseDto::getId)
                 .containsExactlyInAnyOrder(past.getId(), current.getId(), future.getId(), waiting.getId(), rejected.getId());
 
-        List<BookingResponseDto> pastList = bookingService.getAllBookingsByBooker(booker.getId(), BookingState.PAST);
+        List<BookingResponseDto> pastList = bookingService.getAllBookingsByBooker(booker.getId(), BookingState.PAST, null, null, 20);
         assertThat(pastList).hasSize(1);
         assertThat(pastList.getFirst().getId()).isEqualTo(past.getId());
 
-        List<BookingResponseDto> currentList = bookingService.getAllBookingsByBooker(booker.getId(), BookingState.CURRENT);
+        List<BookingResponseDto> currentList = bookingService.getAllBookingsByBooker(booker.getId(), BookingState.CURRENT, null, null, 20);
         assertThat(currentList).hasSize(1);
         assertThat(currentList.getFirst().getId()).isEqualTo(current.getId());
 
-        List<BookingResponseDto> futureList = bookingService.getAllBookingsByBooker(booker.getId(), BookingState.FUTURE);
+        List<BookingResponseDto> futureList = bookingService.getAllBookingsByBooker(booker.getId(), BookingState.FUTURE, null, null, 20);
         assertThat(futureList).hasSize(3);
         assertThat(futureList).extracting(BookingResponseDto::getId)
                 .containsExactlyInAnyOrder(future.getId(), waiting.getId(), rejected.getId());
 
-        List<BookingResponseDto> waitingList = bookingService.getAllBookingsByBooker(booker.getId(), BookingState.WAITING);
+        List<BookingResponseDto> waitingList = bookingService.getAllBookingsByBooker(booker.getId(), BookingState.WAITING, null, null, 20);
         assertThat(waitingList).hasSize(1);
         assertThat(waitingList.getFirst().getId()).isEqualTo(waiting.getId());
 
-        List<BookingResponseDto> rejectedList = bookingService.getAllBookingsByBooker(booker.getId(), BookingState.REJECTED);
+        List<BookingResponseDto> rejectedList = bookingService.getAllBookingsByBooker(booker.getId(), BookingState.REJECTED, null, null, 20);
         assertThat(rejectedList).hasSize(1);
         assertThat(rejectedList.getFirst().getId()).isEqualTo(rejected.getId());
     }
@@ -216,31 +439,115 @@ class BookingServiceImplTest {
         Booking waiting = createBooking(otherBooker, item, LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(6), BookingStatus.WAITING);
         Booking rejected = createBooking(booker, item, LocalDateTime.now().plusDays(7), LocalDateTime.now().plusDays(8), BookingStatus.REJECTED);
 
-        List<BookingResponseDto> all = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.ALL);
+        List<BookingResponseDto> all = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.ALL, null, null, 20);
         assertThat(all).hasSize(5);
 
-        List<BookingResponseDto> pastList = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.PAST);
+        List<BookingResponseDto> pastList = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.PAST, null, null, 20);
         assertThat(pastList).hasSize(1);
         assertThat(pastList.getFirst().getId()).isEqualTo(past.getId());
 
-        List<BookingResponseDto> currentList = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.CURRENT);
+        List<BookingResponseDto> currentList = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.CURRENT, null, null, 20);
         assertThat(currentList).hasSize(1);
         assertThat(currentList.getFirst().getId()).isEqualTo(current.getId());
 
-        List<BookingResponseDto> futureList = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.FUTURE);
+        List<BookingResponseDto> futureList = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.FUTURE, null, null, 20);
         assertThat(futureList).hasSize(3);
         assertThat(futureList).extracting(BookingResponseDto::getId)
                 .containsExactlyInAnyOrder(future.getId(), waiting.getId(), rejected.getId());
 
-        List<BookingResponseDto> waitingList = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.WAITING);
+        List<BookingResponseDto> waitingList = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.WAITING, null, null, 20);
         assertThat(waitingList).hasSize(1);
         assertThat(waitingList.getFirst().getId()).isEqualTo(waiting.getId());
 
-        List<BookingResponseDto> rejectedList = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.REJECTED);
+        List<BookingResponseDto> rejectedList = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.REJECTED, null, null, 20);
         assertThat(rejectedList).hasSize(1);
         assertThat(rejectedList.getFirst().getId()).isEqualTo(rejected.getId());
     }
 
+    @Test
+    void getAllBookingsByOwner_withCursor_shouldReturnNextPage() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Booking first = createBooking(booker, item, start.plusDays(2), start.plusDays(3), BookingStatus.WAITING);
+        Booking second = createBooking(booker, item, start, start.plusDays(1), BookingStatus.WAITING);
+        Booking third = createBooking(booker, item, start, start.plusDays(1), BookingStatus.APPROVED);
+        Booking fourth = createBooking(booker, item, start.minusDays(5), start.minusDays(4), BookingStatus.APPROVED);
+
+        List<BookingResponseDto> firstPage = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.ALL,
+                null, null, 2);
+        assertThat(firstPage).extracting(BookingResponseDto::getId)
+                .containsExactly(first.getId(), third.getId());
+
+        BookingResponseDto last = firstPage.getLast();
+        List<BookingResponseDto> secondPage = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.ALL,
+                last.getStart(), last.getId(), 2);
+        assertThat(secondPage).extracting(BookingResponseDto::getId)
+                .containsExactly(second.getId(), fourth.getId());
+
+        List<BookingResponseDto> waitingPage = bookingService.getAllBookingsByBooker(booker.getId(),
+                BookingState.WAITING, first.getStart(), first.getId(), 2);
+        assertThat(waitingPage).extracting(BookingResponseDto::getId)
+                .containsExactly(second.getId());
+    }
+
+    @Test
+    void getAllBookingsByBooker_withIncompleteCursor_shouldThrowValidationException() {
+        assertThatThrownBy(() -> bookingService.getAllBookingsByBooker(booker.getId(), BookingState.ALL,
+                LocalDateTime.now(), null, 20))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("lastStart and lastId must be passed together");
+
+        assertThatThrownBy(() -> bookingService.getAllBookingsByBooker(booker.getId(), BookingState.ALL,
+                null, null, 0))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Page size must be between 1 and 100");
+    }
+
+    @Test
+    void getAllBookingsByOwner_shouldUseFixedNumberOfStatements() {
+        ItemRequest request = new ItemRequest();
+        request.setDescription("Need a saw");
+        request.setRequester(booker);
+        request.setCreated(LocalDateTime.now());
+        ItemRequest savedRequest = itemRequestRepository.save(request);
+
+        for (int i = 0; i < 5; i++) {
+            User otherBooker = new User();
+            otherBooker.setName("Booker " + i);
+            otherBooker.setEmail("booker" + i + "@test.com");
+            otherBooker = userRepository.save(otherBooker);
+
+            Item otherItem = new Item();
+            otherItem.setName("Saw " + i);
+            otherItem.setDescription("Sharp saw");
+            otherItem.setAvailable(true);
+            otherItem.setOwner(owner);
+            otherItem.setRequest(savedRequest);
+            otherItem = itemRepository.save(otherItem);
+
+            createBooking(otherBooker, otherItem, LocalDateTime.now().plusDays(i + 1),
+                    LocalDateTime.now().plusDays(i + 2), BookingStatus.WAITING);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<BookingResponseDto> bookings = bookingService.getAllBookingsByOwner(owner.getId(), BookingState.ALL,
+                null, null, 20);
+
+        assertThat(bookings).hasSize(5);
+        assertThat(bookings).allSatisfy(booking -> {
+            assertThat(booking.getBooker().getName()).startsWith("Booker ");
+            assertThat(booking.getItem().getRequestId()).isEqualTo(savedRequest.getId());
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        statistics.setStatisticsEnabled(false);
+    }
+
     private Booking createWaitingBooking() {
         Booking booking = new Booking();
         booking.setStart(LocalDateTime.now().plusDays(1));
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.service.CommentEligibilityChecker;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentEligibilityCheckerTest {
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    void hasCompletedBooking_shouldRememberOnlyPositiveAnswers() {
+        CommentEligibilityChecker checker = new CommentEligibilityChecker(bookingRepository, true, 100);
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(eq(1L), eq(2L),
+                eq(BookingStatus.APPROVED), any())).thenReturn(true);
+
+        assertThat(checker.hasCompletedBooking(1L, 2L, now)).isTrue();
+        assertThat(checker.hasCompletedBooking(1L, 2L, now)).isTrue();
+        assertThat(checker.hasCompletedBooking(1L, 3L, now)).isFalse();
+        assertThat(checker.hasCompletedBooking(1L, 3L, now)).isFalse();
+
+        verify(bookingRepository, times(1)).existsByBookerIdAndItemIdAndStatusAndEndBefore(1L, 2L,
+                BookingStatus.APPROVED, now);
+        verify(bookingRepository, times(2)).existsByBookerIdAndItemIdAndStatusAndEndBefore(1L, 3L,
+                BookingStatus.APPROVED, now);
+    }
+
+    @Test
+    void hasCompletedBooking_withoutCache_shouldAlwaysQuery() {
+        CommentEligibilityChecker checker = new CommentEligibilityChecker(bookingRepository, false, 100);
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(1L, 2L, BookingStatus.APPROVED, now))
+                .thenReturn(true);
+
+        checker.hasCompletedBooking(1L, 2L, now);
+        checker.hasCompletedBooking(1L, 2L, now);
+
+        verify(bookingRepository, times(2)).existsByBookerIdAndItemIdAndStatusAndEndBefore(1L, 2L,
+                BookingStatus.APPROVED, now);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.FullTextQuery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FullTextQueryTest {
+
+    @Test
+    void prefixQuery_shouldJoinLowerCasedWordsAsPrefixes() {
+        assertThat(FullTextQuery.prefixQuery("Power  DRI")).isEqualTo("power:* & dri:*");
+    }
+
+    @Test
+    void prefixQuery_shouldDropTsqueryOperators() {
+        assertThat(FullTextQuery.prefixQuery("drill' | !(saw):*")).isEqualTo("drill:* & saw:*");
+        assertThat(FullTextQuery.prefixQuery("Дрель-2000")).isEqualTo("дрель:* & 2000:*");
+    }
+
+    @Test
+    void prefixQuery_withoutWords_shouldReturnEmptyString() {
+        assertThat(FullTextQuery.prefixQuery(" &|! ")).isEmpty();
+    }
+}
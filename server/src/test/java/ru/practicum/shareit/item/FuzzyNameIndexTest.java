@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.event.ItemSnapshot;
+import ru.practicum.shareit.item.search.FuzzyNameIndex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FuzzyNameIndexTest {
+    private FuzzyNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FuzzyNameIndex();
+        index.put(new ItemSnapshot(1L, 1L, "Cordless drill", "18V", true, null));
+        index.put(new ItemSnapshot(2L, 1L, "Hammer", "Claw hammer", true, null));
+        index.put(new ItemSnapshot(3L, 2L, "Drill press", "Bench drill", true, null));
+        index.put(new ItemSnapshot(4L, 2L, "Drills set", "Wood", false, null));
+    }
+
+    @Test
+    void search_withTypos_shouldFindItemsOrderedByEdits() {
+        assertThat(index.search("hamer", 0, 10)).extracting(ItemSnapshot::id).containsExactly(2L);
+        assertThat(index.search("drill", 0, 10)).extracting(ItemSnapshot::id).containsExactly(1L, 3L);
+        assertThat(index.search("dril", 0, 10)).extracting(ItemSnapshot::id).containsExactly(1L, 3L);
+        assertThat(index.search("drrill pres", 0, 10)).extracting(ItemSnapshot::id).containsExactly(3L);
+        assertThat(index.search("cordles drill", 0, 10)).extracting(ItemSnapshot::id).containsExactly(1L);
+    }
+
+    // "cat" matches "Cat toy" exactly, but only "Red car", one edit away, also matches "red".
+    @Test
+    void search_withSeveralWords_shouldNotStopAtNearestMatchOfEachWord() {
+        index.put(new ItemSnapshot(5L, 3L, "Red car", "Toy", true, null));
+        index.put(new ItemSnapshot(6L, 3L, "Cat toy", "Mouse", true, null));
+
+        assertThat(index.search("red cat", 0, 10)).extracting(ItemSnapshot::id).containsExactly(5L);
+        assertThat(index.search("red cax", 0, 10)).extracting(ItemSnapshot::id).containsExactly(5L);
+        assertThat(index.search("cat", 0, 10)).extracting(ItemSnapshot::id).containsExactly(6L, 5L);
+    }
+
+    @Test
+    void search_withPages_shouldOrderExactMatchesBeforeTypos() {
+        for (long id = 10; id <= 14; id++) {
+            index.put(new ItemSnapshot(id, 3L, "Drill", "Spare", true, null));
+        }
+        index.put(new ItemSnapshot(9L, 3L, "Dril", "Typo", true, null));
+
+        assertThat(index.search("drill", 3, 3)).extracting(ItemSnapshot::id).containsExactly(11L, 12L, 13L);
+        assertThat(index.search("drill", 6, 3)).extracting(ItemSnapshot::id).containsExactly(14L, 9L);
+        assertThat(index.search("drill", 0, 2)).extracting(ItemSnapshot::id).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void search_beyondAllowedEdits_shouldReturnNothing() {
+        assertThat(index.search("hmr", 0, 10)).isEmpty();
+        assertThat(index.search("drill saw", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldFollowUpdatesAndRemovals() {
+        index.put(new ItemSnapshot(2L, 1L, "Mallet", "Rubber", true, null));
+        index.remove(1L);
+        index.removeByOwner(2L);
+
+        assertThat(index.search("hammer", 0, 10)).isEmpty();
+        assertThat(index.search("drill", 0, 10)).isEmpty();
+        assertThat(index.search("malet", 0, 10)).extracting(ItemSnapshot::id).containsExactly(2L);
+    }
+}
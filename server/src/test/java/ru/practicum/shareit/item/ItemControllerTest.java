@@ -9,9 +9,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.exception.NotOwnerException;
 import ru.practicum.shareit.item.service.ItemService;
 
@@ -134,7 +136,7 @@ public class ItemControllerTest {
     @Test
     void getItemsByUser_shouldReturnList() throws Exception {
         List<ItemResponseDto> items = List.of(itemResponseDto);
-        when(itemService.getItemsByUser(1L)).thenReturn(items);
+        when(itemService.getItemsByUser(1L, null, 20)).thenReturn(items);
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 1L))
@@ -155,7 +157,7 @@ public class ItemControllerTest {
     @Test
     void searchItems_shouldReturnList() throws Exception {
         List<ItemResponseDto> items = List.of(itemResponseDto);
-        when(itemService.searchItems("drill")).thenReturn(items);
+        when(itemService.searchItems("drill", 0, 20)).thenReturn(items);
 
         mockMvc.perform(get("/items/search")
                         .param("text", "drill"))
@@ -166,7 +168,7 @@ public class ItemControllerTest {
 
     @Test
     void searchItems_withBlankText_shouldReturnEmptyList() throws Exception {
-        when(itemService.searchItems("   ")).thenReturn(List.of());
+        when(itemService.searchItems("   ", 0, 20)).thenReturn(List.of());
 
         mockMvc.perform(get("/items/search")
                         .param("text", "   "))
@@ -174,6 +176,18 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    @Test
+    void suggest_shouldReturnRankedNames() throws Exception {
+        when(itemService.suggestItemNames("dr", 10)).thenReturn(List.of(new ItemSuggestionDto("Drill", 2)));
+
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "dr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Drill"))
+                .andExpect(jsonPath("$[0].count").value(2));
+    }
+
     @Test
     void createComment_shouldReturnCreatedComment() throws Exception {
         when(itemService.createComment(any(CommentDto.class), eq(1L), eq(1L))).thenReturn(createdCommentDto);
@@ -187,4 +201,20 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.text").value("Great item!"))
                 .andExpect(jsonPath("$.authorName").value("John"));
     }
+
+    @Test
+    void getAvailability_shouldReturnFreeSlots() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 10, 0, 0);
+        when(itemService.getAvailability(1L, from, to))
+                .thenReturn(List.of(new AvailabilitySlotDto(from, from.plusDays(2))));
+
+        mockMvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-10T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].start").value("2030-01-01T00:00:00"))
+                .andExpect(jsonPath("$[0].end").value("2030-01-03T00:00:00"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.item.detail-cache.enabled=true")
+@ActiveProfiles("test")
+class ItemDetailCacheTest extends ItemDetailTestSupport {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private long itemId;
+    private Item item;
+    private Booking nextBooking;
+
+    @BeforeEach
+    void setUp() {
+        createUsers("Cache");
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName("Drill");
+        itemDto.setDescription("Powerful drill");
+        itemDto.setAvailable(true);
+        itemId = itemService.create(itemDto, owner.getId()).getId();
+        item = itemRepository.findById(itemId).orElseThrow();
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        createBooking(item, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        nextBooking = createBooking(item, now.plusDays(2), now.plusDays(3), BookingStatus.WAITING);
+        bookingService.approveOrRejectBooking(nextBooking.getId(), owner.getId(), true);
+    }
+
+    @Test
+    void get_repeated_shouldNotQueryDatabase() {
+        itemService.get(itemId, booker.getId());
+        itemService.get(itemId, owner.getId());
+
+        Statistics statistics = startStatistics();
+        ItemResponseDto sharedView = itemService.get(itemId, booker.getId());
+        ItemResponseDto ownerView = itemService.get(itemId, owner.getId());
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        assertThat(statements).isZero();
+        assertThat(sharedView.getName()).isEqualTo("Drill");
+        assertThat(sharedView.getNextBooking()).isNull();
+        assertThat(ownerView.getNextBooking().getId()).isEqualTo(nextBooking.getId());
+        assertThat(ownerView.getLastBooking()).isNotNull();
+    }
+
+    @Test
+    void get_afterUpdateAndComment_shouldReturnFreshSharedView() {
+        itemService.get(itemId, booker.getId());
+
+        ItemDto updateDto = new ItemDto();
+        updateDto.setName("Hammer drill");
+        itemService.update(updateDto, itemId, owner.getId());
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Great tool");
+        itemService.createComment(commentDto, itemId, booker.getId());
+
+        ItemResponseDto found = itemService.get(itemId, booker.getId());
+
+        assertThat(found.getName()).isEqualTo("Hammer drill");
+        assertThat(found.getComments()).extracting(CommentDto::getText).containsExactly("Great tool");
+    }
+
+    @Test
+    void get_afterBookingApproval_shouldReturnFreshOwnerView() {
+        itemService.get(itemId, owner.getId());
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Booking sooner = createBooking(item, now.plusHours(1), now.plusHours(2), BookingStatus.WAITING);
+        bookingService.approveOrRejectBooking(sooner.getId(), owner.getId(), true);
+
+        ItemResponseDto found = itemService.get(itemId, owner.getId());
+
+        assertThat(found.getNextBooking().getId()).isEqualTo(sooner.getId());
+    }
+
+    private Statistics startStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Cache misses of the owner view with parallel reads on a pool of two connections. A miss that held a
+// connection while its parallel reads waited for more would leave every request waiting on the others.
+@SpringBootTest(properties = {
+        "shareit.item.detail.parallel-reads=true",
+        "shareit.item.detail-cache.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=5000"
+})
+@ActiveProfiles("test")
+class ItemDetailConnectionPoolTest extends ItemDetailTestSupport {
+    private static final int CONCURRENT_MISSES = 8;
+
+    @Autowired
+    private ItemService itemService;
+
+    private final List<Long> itemIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        createUsers("Pool");
+        for (int i = 0; i < CONCURRENT_MISSES; i++) {
+            itemIds.add(createItem("Drill " + i).getId());
+        }
+    }
+
+    @Test
+    void get_concurrentOwnerMisses_shouldNotExhaustConnectionPool() throws Exception {
+        List<Future<ItemResponseDto>> views = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long itemId : itemIds) {
+                views.add(executor.submit(() -> itemService.get(itemId, owner.getId())));
+            }
+
+            for (int i = 0; i < CONCURRENT_MISSES; i++) {
+                assertThat(views.get(i).get(30, TimeUnit.SECONDS).getName()).isEqualTo("Drill " + i);
+            }
+        }
+    }
+}
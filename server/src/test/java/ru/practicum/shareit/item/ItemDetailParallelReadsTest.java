@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ParallelReadExecutor;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "shareit.item.detail.parallel-reads=true")
+@ActiveProfiles("test")
+class ItemDetailParallelReadsTest extends ItemDetailTestSupport {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Item item;
+    private Booking lastBooking;
+    private Booking nextBooking;
+
+    @BeforeEach
+    void setUp() {
+        createUsers("Parallel");
+        item = createItem("Drill");
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        lastBooking = createBooking(item, now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        nextBooking = createBooking(item, now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED);
+
+        Comment comment = new Comment();
+        comment.setText("Great tool");
+        comment.setItem(item);
+        comment.setAuthor(booker);
+        comment.setAuthorName(booker.getName());
+        comment.setCreatedDate(now.minusDays(1));
+        commentRepository.save(comment);
+    }
+
+    @Test
+    void get_byOwner_shouldJoinParallelReads() {
+        ItemResponseDto found = itemService.get(item.getId(), owner.getId());
+
+        assertThat(found.getName()).isEqualTo("Drill");
+        assertThat(found.getComments()).extracting(CommentDto::getAuthorName).containsExactly("Parallel booker");
+        assertThat(found.getLastBooking().getId()).isEqualTo(lastBooking.getId());
+        assertThat(found.getNextBooking().getId()).isEqualTo(nextBooking.getId());
+    }
+
+    @Test
+    void get_withUnknownItem_shouldThrowNotFoundException() {
+        assertThatThrownBy(() -> itemService.get(999L, owner.getId()))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Item with id 999 not found");
+    }
+
+    // mvn -pl server test -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void benchmark_ownerItemDetail_sequentialVersusParallel() {
+        Object target = AopTestUtils.getTargetObject(itemService);
+        Object parallelReads = ReflectionTestUtils.getField(target, "parallelReads");
+        try {
+            ReflectionTestUtils.setField(target, "parallelReads",
+                    new ParallelReadExecutor(false, transactionManager));
+            long[] sequential = measure(500, 5000);
+
+            ReflectionTestUtils.setField(target, "parallelReads", parallelReads);
+            long[] parallel = measure(500, 5000);
+
+            System.out.printf("Owner item detail, sequential: p50 = %d us, p99 = %d us%n",
+                    percentile(sequential, 50), percentile(sequential, 99));
+            System.out.printf("Owner item detail, parallel:   p50 = %d us, p99 = %d us%n",
+                    percentile(parallel, 50), percentile(parallel, 99));
+        } finally {
+            ReflectionTestUtils.setField(target, "parallelReads", parallelReads);
+        }
+    }
+
+    private long[] measure(int warmup, int iterations) {
+        for (int i = 0; i < warmup; i++) {
+            itemService.get(item.getId(), owner.getId());
+        }
+
+        long[] micros = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            itemService.get(item.getId(), owner.getId());
+            micros[i] = (System.nanoTime() - start) / 1000;
+        }
+        Arrays.sort(micros);
+        return micros;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+// Fixtures of the item detail tests, which work on committed data and are not transactional: the detail cache
+// is invalidated by listeners that run after commit, and parallel reads only see committed rows.
+// Deleting the owner and the booker after each test cascades to their items, bookings and comments.
+abstract class ItemDetailTestSupport {
+
+    @Autowired
+    protected ItemRepository itemRepository;
+
+    @Autowired
+    protected BookingRepository bookingRepository;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    protected User owner;
+    protected User booker;
+
+    // The prefix keeps the emails of each test class apart.
+    protected void createUsers(String prefix) {
+        String emailPrefix = prefix.toLowerCase(Locale.ROOT);
+        owner = createUser(prefix + " owner", emailPrefix + "-owner@test.com");
+        booker = createUser(prefix + " booker", emailPrefix + "-booker@test.com");
+    }
+
+    @AfterEach
+    void deleteUsers() {
+        userRepository.deleteById(owner.getId());
+        userRepository.deleteById(booker.getId());
+    }
+
+    // Saved without a booking summary, so the owner view reads the bookings directly.
+    protected Item createItem(String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("Powerful drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return itemRepository.save(item);
+    }
+
+    protected Booking createBooking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+
+    private User createUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemSnapshot;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchMode;
+import ru.practicum.shareit.item.search.ItemSearchProperties;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchCacheTest {
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<List<ItemResponseDto>> loader = () -> {
+        loads.incrementAndGet();
+        return List.of(new ItemResponseDto());
+    };
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemSearchCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = createCache(ItemSearchMode.LIKE);
+    }
+
+    @Test
+    void get_shouldServeRepeatedQueriesFromCacheIgnoringCase() {
+        cache.get("drill", 0, 20, loader);
+        cache.get("DRILL", 0, 20, loader);
+        cache.get("drill", 20, 20, loader);
+
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "itemSearch").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "itemSearch").gauge().value())
+                .isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    void onItemChanged_shouldEvictOnlyQueriesTheItemMatches() {
+        cache.get("drill", 0, 20, loader);
+        cache.get("hammer", 0, 20, loader);
+
+        cache.onItemChanged(new ItemChangedEvent(null, snapshot("Cordless drill", true)));
+        cache.get("drill", 0, 20, loader);
+        cache.get("hammer", 0, 20, loader);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void onItemChanged_shouldEvictQueriesMatchedBeforeTheChange() {
+        cache.get("drill", 0, 20, loader);
+        cache.get("saw", 0, 20, loader);
+
+        cache.onItemChanged(new ItemChangedEvent(snapshot("Drill", true), snapshot("Drill", false)));
+        cache.onItemChanged(new ItemChangedEvent(snapshot("Saw", false), snapshot("Saw", false)));
+        cache.get("drill", 0, 20, loader);
+        cache.get("saw", 0, 20, loader);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void onItemChanged_shouldEvictEveryPageOfMatchedText() {
+        cache.get("drill", 0, 20, loader);
+        cache.get("drill", 20, 20, loader);
+
+        cache.onItemChanged(new ItemChangedEvent(null, snapshot("Drill", true)));
+        cache.get("drill", 0, 20, loader);
+        cache.get("drill", 20, 20, loader);
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void onItemChanged_duringLoad_shouldDropOnlyPagesOfMatchedText() {
+        cache.get("drill", 0, 20, () -> {
+            cache.onItemChanged(new ItemChangedEvent(null, snapshot("Drill", true)));
+            return loader.get();
+        });
+        cache.get("hammer", 0, 20, () -> {
+            cache.onItemChanged(new ItemChangedEvent(null, snapshot("Drill", true)));
+            return loader.get();
+        });
+
+        cache.get("drill", 0, 20, loader);
+        cache.get("hammer", 0, 20, loader);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void onItemChanged_inFullTextMode_shouldMatchEveryTerm() {
+        cache = createCache(ItemSearchMode.FULL_TEXT);
+        cache.get("power dri", 0, 20, loader);
+        cache.get("Power,  DRI", 0, 20, loader);
+
+        cache.onItemChanged(new ItemChangedEvent(null, snapshot("Power saw", true)));
+        cache.get("power dri", 0, 20, loader);
+        cache.onItemChanged(new ItemChangedEvent(null, snapshot("Power drill", true)));
+        cache.get("power dri", 0, 20, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void onUserDeleted_shouldEvictEverything() {
+        cache.get("drill", 0, 20, loader);
+
+        cache.onUserDeleted(new UserDeletedEvent(1L));
+        cache.get("drill", 0, 20, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_whenDisabled_shouldAlwaysLoad() {
+        ItemSearchProperties properties = new ItemSearchProperties();
+        cache = new ItemSearchCache(properties, meterRegistry);
+
+        cache.get("drill", 0, 20, loader);
+        cache.get("drill", 0, 20, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private ItemSearchCache createCache(ItemSearchMode mode) {
+        ItemSearchProperties properties = new ItemSearchProperties();
+        properties.setMode(mode);
+        properties.getCache().setEnabled(true);
+        return new ItemSearchCache(properties, meterRegistry);
+    }
+
+    private static ItemSnapshot snapshot(String name, boolean available) {
+        return new ItemSnapshot(1L, 1L, name, "Tool", available, null);
+    }
+}
@@ -1,5 +1,8 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,22 +11,31 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.exception.NotOwnerException;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -49,6 +61,18 @@ class ItemServiceImplTest {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private ItemBookingSummaryRepository itemBookingSummaryRepository;
+
+    @Autowired
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private User owner;
     private User booker;
     private Item item;
@@ -166,6 +190,7 @@ class ItemServiceImplTest {
         comment.setText("Great!");
         comment.setItem(item);
         comment.setAuthor(booker);
+        comment.setAuthorName(booker.getName());
         comment.setCreatedDate(LocalDateTime.now().minusDays(1));
         commentRepository.save(comment);
 
@@ -182,6 +207,83 @@ class ItemServiceImplTest {
         assertThat(dto.getNextBooking().getId()).isEqualTo(futureBooking.getId());
     }
 
+    @Test
+    void getItem_byOwner_withFreshSummary_shouldReadBookingsInOneLookup() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Booking pastBooking = createBooking(now.minusDays(10), now.minusDays(5), BookingStatus.APPROVED);
+        Booking futureBooking = createBooking(now.plusDays(1), now.plusDays(3), BookingStatus.APPROVED);
+        itemBookingSummaryService.refresh(item.getId(), now);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        ItemResponseDto dto = itemService.get(item.getId(), owner.getId());
+
+        assertThat(dto.getLastBooking().getId()).isEqualTo(pastBooking.getId());
+        assertThat(dto.getLastBooking().getBooker().getName()).isEqualTo("Booker");
+        assertThat(dto.getNextBooking().getId()).isEqualTo(futureBooking.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        statistics.setStatisticsEnabled(false);
+    }
+
+    // Parallel reads load the summaries in a persistence context of their own, where the booked items are not
+    // loaded yet, so mapping the bookings must not need a lazy select per booking.
+    @Test
+    void findWithBookingsByItemIdIn_shouldFetchBookedItemsAndBookers() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Item saw = createItem("Saw");
+        for (Item bookedItem : List.of(item, saw)) {
+            createBooking(bookedItem, now.minusDays(5), now.minusDays(3), BookingStatus.APPROVED);
+            createBooking(bookedItem, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED);
+            itemBookingSummaryService.refresh(bookedItem.getId(), now);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<BookingResponseDto> bookings = new ArrayList<>();
+        for (ItemBookingSummary summary : itemBookingSummaryRepository.findWithBookingsByItemIdIn(
+                List.of(item.getId(), saw.getId()))) {
+            bookings.add(BookingMapper.bookingToResponseDto(summary.getLastBooking()));
+            bookings.add(BookingMapper.bookingToResponseDto(summary.getNextBooking()));
+        }
+        itemBookingSummaryRepository.findWithBookingsByItemId(saw.getId())
+                .map(summary -> BookingMapper.bookingToResponseDto(summary.getLastBooking()))
+                .ifPresent(bookings::add);
+
+        assertThat(bookings).hasSize(5).allSatisfy(booking -> {
+            assertThat(booking.getItem().getName()).isIn("Drill", "Saw");
+            assertThat(booking.getBooker().getName()).isEqualTo("Booker");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void refreshExpired_shouldRecomputeSummariesThatCrossedTimeBoundary() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Booking booking = createBooking(now.plusHours(1), now.plusHours(2), BookingStatus.APPROVED);
+        itemBookingSummaryService.refresh(item.getId(), now);
+
+        int refreshed = itemBookingSummaryService.refreshExpired(now.plusHours(3), 10);
+
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(item.getId()).orElseThrow();
+        assertThat(refreshed).isEqualTo(1);
+        assertThat(summary.getLastBooking().getId()).isEqualTo(booking.getId());
+        assertThat(summary.getNextBooking()).isNull();
+        assertThat(summary.getValidUntil()).isNull();
+    }
+
     @Test
     void getItem_unknownItem_shouldThrowNotFoundException() {
         assertThatThrownBy(() -> itemService.get(999L, owner.getId()))
@@ -203,12 +305,92 @@ class ItemServiceImplTest {
         otherItem.setOwner(other);
         itemRepository.save(otherItem);
 
-        List<ItemResponseDto> items = itemService.getItemsByUser(owner.getId());
+        List<ItemResponseDto> items = itemService.getItemsByUser(owner.getId(), null, 20);
 
         assertThat(items).hasSize(1);
         assertThat(items.getFirst().getId()).isEqualTo(item.getId());
     }
 
+    @Test
+    void getItemsByUser_withLastId_shouldReturnNextPage() {
+        Item second = createItem("Saw");
+        Item third = createItem("Hammer");
+
+        List<ItemResponseDto> firstPage = itemService.getItemsByUser(owner.getId(), null, 2);
+        List<ItemResponseDto> secondPage = itemService.getItemsByUser(owner.getId(),
+                firstPage.getLast().getId(), 2);
+
+        assertThat(firstPage).extracting(ItemResponseDto::getId).containsExactly(item.getId(), second.getId());
+        assertThat(secondPage).extracting(ItemResponseDto::getId).containsExactly(third.getId());
+    }
+
+    @Test
+    void getItemsByUser_shouldLoadBookingsAndCommentsWithFixedNumberOfStatements() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Item> items = new ArrayList<>(List.of(item));
+        for (int i = 0; i < 4; i++) {
+            items.add(createItem("Saw " + i));
+        }
+
+        for (Item ownedItem : items) {
+            createBooking(ownedItem, now.minusDays(10), now.minusDays(8), BookingStatus.APPROVED);
+            createBooking(ownedItem, now.minusDays(5), now.minusDays(3), BookingStatus.APPROVED);
+            createBooking(ownedItem, now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED);
+            createBooking(ownedItem, now.plusDays(1), now.plusDays(2), BookingStatus.REJECTED);
+
+            Comment comment = new Comment();
+            comment.setText("Nice " + ownedItem.getName());
+            comment.setItem(ownedItem);
+            comment.setAuthor(booker);
+            comment.setAuthorName(booker.getName());
+            comment.setCreatedDate(now.minusDays(1));
+            commentRepository.save(comment);
+        }
+        itemBookingSummaryService.refresh(item.getId(), now);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<ItemResponseDto> result = itemService.getItemsByUser(owner.getId(), null, 20);
+
+        assertThat(result).hasSize(5);
+        assertThat(result).allSatisfy(dto -> {
+            assertThat(dto.getLastBooking().getEnd()).isEqualTo(now.minusDays(3));
+            assertThat(dto.getLastBooking().getBooker().getName()).isEqualTo("Booker");
+            assertThat(dto.getNextBooking().getStart()).isEqualTo(now.plusDays(2));
+            assertThat(dto.getComments()).singleElement()
+                    .satisfies(comment -> assertThat(comment.getAuthorName()).isEqualTo("Booker"));
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void getItemsByUser_shouldReturnNewestCommentsAndTotalCount() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Item saw = createItem("Saw");
+        for (int i = 0; i < 25; i++) {
+            createComment(item, "Drill comment " + i, now.minusMinutes(25 - i));
+        }
+        createComment(saw, "Saw comment", now);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ItemResponseDto> result = itemService.getItemsByUser(owner.getId(), null, 20);
+
+        assertThat(result.get(0).getCommentCount()).isEqualTo(25);
+        assertThat(result.get(0).getComments()).hasSize(20)
+                .first().satisfies(comment -> assertThat(comment.getText()).isEqualTo("Drill comment 24"));
+        assertThat(result.get(0).getComments().getLast().getText()).isEqualTo("Drill comment 5");
+        assertThat(result.get(1).getCommentCount()).isEqualTo(1);
+        assertThat(result.get(1).getComments()).extracting(CommentDto::getText).containsExactly("Saw comment");
+    }
+
     @Test
     void deleteItem_byOwner_shouldRemove() {
         itemService.delete(item.getId(), owner.getId());
@@ -239,19 +421,41 @@ class ItemServiceImplTest {
         drill.setOwner(owner);
         itemRepository.save(drill);
 
-        List<ItemResponseDto> found = itemService.searchItems("hammer");
+        List<ItemResponseDto> found = itemService.searchItems("hammer", 0, 20);
 
         assertThat(found).hasSize(1);
         assertThat(found.getFirst().getName()).isEqualTo("Hammer");
 
-        found = itemService.searchItems("electric");
+        found = itemService.searchItems("electric", 0, 20);
         assertThat(found).hasSize(1);
         assertThat(found.getFirst().getName()).isEqualTo("Drill");
 
-        found = itemService.searchItems("nonexistent");
+        found = itemService.searchItems("nonexistent", 0, 20);
         assertThat(found).isEmpty();
     }
 
+    @Test
+    void searchItems_withFromAndSize_shouldReturnPageInIdOrder() {
+        Item second = createItem("Drill press");
+        Item third = createItem("Drill bit");
+
+        List<ItemResponseDto> firstPage = itemService.searchItems("drill", 0, 2);
+        List<ItemResponseDto> secondPage = itemService.searchItems("drill", 2, 2);
+
+        assertThat(firstPage).extracting(ItemResponseDto::getId).containsExactly(item.getId(), second.getId());
+        assertThat(secondPage).extracting(ItemResponseDto::getId).containsExactly(third.getId());
+    }
+
+    @Test
+    void searchItems_withPageOutsideLimits_shouldThrowValidationException() {
+        assertThatThrownBy(() -> itemService.searchItems("drill", 0, 101))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Page size must be between 1 and 100");
+        assertThatThrownBy(() -> itemService.searchItems("drill", 1001, 20))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Parameter from must be between 0 and 1000");
+    }
+
     @Test
     void createComment_success() {
         Booking finishedBooking = new Booking();
@@ -286,4 +490,130 @@ class ItemServiceImplTest {
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("Only users who have rented and completed this item can leave a review");
     }
-}
\ No newline at end of file
+
+    @Test
+    void createComment_shouldCountCommentsAndPageThemNewestFirst() {
+        createBooking(LocalDateTime.now().minusDays(10), LocalDateTime.now().minusDays(1), BookingStatus.APPROVED);
+        List<CommentDto> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CommentDto commentDto = new CommentDto();
+            commentDto.setText("Comment " + i);
+            created.add(itemService.createComment(commentDto, item.getId(), booker.getId()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemResponseDto found = itemService.get(item.getId(), booker.getId());
+        List<CommentDto> firstPage = itemService.getComments(item.getId(), null, null, 2);
+        CommentDto last = firstPage.getLast();
+        List<CommentDto> secondPage = itemService.getComments(item.getId(), last.getCreated(), last.getId(), 2);
+
+        assertThat(found.getCommentCount()).isEqualTo(3);
+        assertThat(found.getComments()).extracting(CommentDto::getText)
+                .containsExactly("Comment 2", "Comment 1", "Comment 0");
+        assertThat(firstPage).extracting(CommentDto::getId)
+                .containsExactly(created.get(2).getId(), created.get(1).getId());
+        assertThat(secondPage).extracting(CommentDto::getId).containsExactly(created.get(0).getId());
+    }
+
+    @Test
+    void getComments_withHalfCursor_shouldThrowValidationException() {
+        assertThatThrownBy(() -> itemService.getComments(item.getId(), null, 1L, 20))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("lastCreated and lastId");
+    }
+
+    @Test
+    void renameAndDeleteAuthor_shouldKeepCommentCopiesAndCountsInSync() {
+        createBooking(LocalDateTime.now().minusDays(10), LocalDateTime.now().minusDays(1), BookingStatus.APPROVED);
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("Great!");
+        itemService.createComment(commentDto, item.getId(), booker.getId());
+
+        UserDto rename = new UserDto();
+        rename.setName("Renamed booker");
+        userService.update(rename, booker.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(itemService.getComments(item.getId(), null, null, 20)).extracting(CommentDto::getAuthorName)
+                .containsExactly("Renamed booker");
+
+        userService.delete(booker.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemResponseDto found = itemService.get(item.getId(), owner.getId());
+        assertThat(found.getCommentCount()).isZero();
+        assertThat(found.getComments()).isEmpty();
+    }
+
+    @Test
+    void getAvailability_shouldReturnGapsBetweenActiveBookings() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withNano(0);
+        LocalDateTime to = from.plusDays(10);
+        createBooking(from.minusDays(1), from.plusDays(1), BookingStatus.APPROVED);
+        createBooking(from.plusDays(3), from.plusDays(4), BookingStatus.WAITING);
+        createBooking(from.plusDays(3).plusHours(12), from.plusDays(5), BookingStatus.APPROVED);
+        createBooking(from.plusDays(6), from.plusDays(7), BookingStatus.REJECTED);
+        createBooking(from.plusDays(9), from.plusDays(12), BookingStatus.APPROVED);
+
+        List<AvailabilitySlotDto> slots = itemService.getAvailability(item.getId(), from, to);
+
+        assertThat(slots).containsExactly(
+                new AvailabilitySlotDto(from.plusDays(1), from.plusDays(3)),
+                new AvailabilitySlotDto(from.plusDays(5), from.plusDays(9)));
+    }
+
+    @Test
+    void getAvailability_withoutBookings_shouldReturnWholeRange() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = from.plusDays(2);
+
+        assertThat(itemService.getAvailability(item.getId(), from, to))
+                .containsExactly(new AvailabilitySlotDto(from, to));
+    }
+
+    @Test
+    void getAvailability_withInvalidRange_shouldThrowValidationException() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+
+        assertThatThrownBy(() -> itemService.getAvailability(item.getId(), from, from))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Parameter from must be before to");
+    }
+
+    private Item createItem(String name) {
+        Item newItem = new Item();
+        newItem.setName(name);
+        newItem.setDescription("Tool");
+        newItem.setAvailable(true);
+        newItem.setOwner(owner);
+        return itemRepository.save(newItem);
+    }
+
+    private Booking createBooking(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return createBooking(item, start, end, status);
+    }
+
+    private Booking createBooking(Item bookedItem, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+
+    private void createComment(Item commentedItem, String text, LocalDateTime created) {
+        Comment comment = new Comment();
+        comment.setText(text);
+        comment.setItem(commentedItem);
+        comment.setAuthor(booker);
+        comment.setAuthorName(booker.getName());
+        comment.setCreatedDate(created);
+        commentRepository.save(comment);
+        itemRepository.incrementCommentCount(commentedItem.getId());
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.event.ItemSnapshot;
+import ru.practicum.shareit.item.search.NameSuggestionTrie;
+import ru.practicum.shareit.item.search.NameSuggestionTrie.Suggestion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameSuggestionTrieTest {
+    private NameSuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new NameSuggestionTrie();
+        trie.put(new ItemSnapshot(1L, 1L, "Drill", "18V", true, null));
+        trie.put(new ItemSnapshot(2L, 1L, "Drill press", "Bench", true, null));
+        trie.put(new ItemSnapshot(3L, 2L, "drill", "Hammer drill", true, null));
+        trie.put(new ItemSnapshot(4L, 2L, "Driver set", "Bits", true, null));
+        trie.put(new ItemSnapshot(5L, 2L, "Dress", "Evening", false, null));
+    }
+
+    @Test
+    void suggest_shouldRankAvailableNamesByCount() {
+        assertThat(trie.suggest("dr", 10)).containsExactly(
+                new Suggestion("drill", 2), new Suggestion("Drill press", 1), new Suggestion("Driver set", 1));
+        assertThat(trie.suggest("DRILL ", 10)).extracting(Suggestion::name).containsExactly("drill", "Drill press");
+        assertThat(trie.suggest("dr", 1)).extracting(Suggestion::name).containsExactly("drill");
+        assertThat(trie.suggest("dre", 10)).isEmpty();
+        assertThat(trie.suggest("x", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_shouldFollowUpdatesAndRemovals() {
+        trie.put(new ItemSnapshot(5L, 2L, "Dress", "Evening", true, null));
+        trie.put(new ItemSnapshot(1L, 1L, "Driver set", "Bits", true, null));
+        trie.remove(2L);
+
+        assertThat(trie.suggest("dr", 10)).containsExactly(
+                new Suggestion("Driver set", 2), new Suggestion("Dress", 1), new Suggestion("drill", 1));
+
+        trie.removeByOwner(2L);
+
+        assertThat(trie.suggest("dr", 10)).containsExactly(new Suggestion("Driver set", 1));
+    }
+
+    @Test
+    void suggest_shouldKeepTopListsBoundedAndCorrectAfterRemovals() {
+        for (long id = 10; id < 40; id++) {
+            trie.put(new ItemSnapshot(id, 3L, "Saw " + (id % 15), "Blade", true, null));
+        }
+        trie.put(new ItemSnapshot(100L, 4L, "Saw 7", "Blade", true, null));
+
+        assertThat(trie.suggest("saw", 20)).hasSize(NameSuggestionTrie.MAX_SUGGESTIONS)
+                .first().isEqualTo(new Suggestion("Saw 7", 3));
+
+        trie.removeByOwner(3L);
+
+        assertThat(trie.suggest("saw", 20)).containsExactly(new Suggestion("Saw 7", 1));
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.event.ItemSnapshot;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.TrigramIndex;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class TrigramIndexTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void search_shouldReturnSameItemsAsLikeQuery() {
+        User owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@test.com");
+        owner = userRepository.save(owner);
+
+        createItem(owner, "Drill", "Powerful electric drill", true);
+        createItem(owner, "Дрель", "Ударная дрель 100% новая", true);
+        createItem(owner, "Saw", "Hand saw, barely used", true);
+        createItem(owner, "Drill bit", "Spare bit for a drill", false);
+        createItem(owner, "Ladder", "Folding_ladder 3m", true);
+
+        TrigramIndex index = new TrigramIndex();
+        itemRepository.findAll().forEach(item -> index.put(ItemMapper.itemToSnapshot(item)));
+
+        for (String text : List.of("drill", "DRI", "ll", "a", "ric d", "дрель", "ДРЕ", "100%", "d_ill",
+                "r%l", "g\\_l", "saw,", "missing", "Powerful electric drill")) {
+            List<Long> expected = itemRepository.search(text, 0, 100).stream()
+                    .map(Item::getId)
+                    .toList();
+            List<Long> actual = index.search(text, 0, 100).stream()
+                    .map(ItemSnapshot::id)
+                    .toList();
+            assertThat(actual).as("search for '%s'", text).isEqualTo(expected);
+
+            List<Long> expectedPage = itemRepository.search(text, 1, 1).stream()
+                    .map(Item::getId)
+                    .toList();
+            List<Long> actualPage = index.search(text, 1, 1).stream()
+                    .map(ItemSnapshot::id)
+                    .toList();
+            assertThat(actualPage).as("second page of '%s'", text).isEqualTo(expectedPage);
+        }
+    }
+
+    @Test
+    void put_withChangedItem_shouldReplacePreviousVersion() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(new ItemSnapshot(1L, 1L, "Drill", "Cordless", true, null));
+        index.put(new ItemSnapshot(2L, 1L, "Saw", "Hand saw", true, null));
+
+        index.put(new ItemSnapshot(1L, 1L, "Hammer", "Heavy", true, null));
+        index.put(new ItemSnapshot(2L, 1L, "Saw", "Hand saw", false, null));
+
+        assertThat(index.search("drill", 0, 10)).isEmpty();
+        assertThat(index.search("saw", 0, 10)).isEmpty();
+        assertThat(index.search("hamm", 0, 10)).extracting(ItemSnapshot::id).containsExactly(1L);
+    }
+
+    @Test
+    void remove_shouldDropItemsByIdOrOwner() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(new ItemSnapshot(1L, 1L, "Drill", "Cordless drill", true, null));
+        index.put(new ItemSnapshot(2L, 2L, "Drill", "Impact drill", true, null));
+        index.put(new ItemSnapshot(3L, 2L, "Drill", "Old drill", true, null));
+
+        index.remove(1L);
+        index.removeByOwner(2L);
+
+        assertThat(index.search("drill", 0, 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void remove_withManyItems_shouldKeepRemainingItemsFindable() {
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= 1000; id++) {
+            index.put(new ItemSnapshot(id, 1L, "Item " + id, "Tool number " + id, true, null));
+        }
+
+        for (long id = 1; id <= 1000; id += 2) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(500);
+        assertThat(index.search("tool", 0, 1000)).hasSize(500).allMatch(item -> item.id() % 2 == 0);
+        assertThat(index.search("item 998", 0, 10)).extracting(ItemSnapshot::id).containsExactly(998L);
+        assertThat(index.search("item 999", 0, 10)).isEmpty();
+    }
+
+    private void createItem(User owner, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        itemRepository.save(item);
+    }
+}
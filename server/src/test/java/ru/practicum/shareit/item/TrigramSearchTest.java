@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.TrigramSearchSupport;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.item.search.mode=trigram")
+@Transactional
+@ActiveProfiles("test")
+class TrigramSearchTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrigramSearchSupport trigramSearchSupport;
+
+    private Item drill;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@test.com");
+        owner = userRepository.save(owner);
+
+        drill = createItem(owner, "Drill", "Powerful electric drill", true);
+        createItem(owner, "Saw", "Hand saw 100% sharp", true);
+        createItem(owner, "Drill bit", "Spare bit", false);
+    }
+
+    @Test
+    void searchItems_withoutPgTrgm_shouldFallBackToLikeQuery() {
+        assertThat(trigramSearchSupport.isAvailable()).isFalse();
+
+        List<ItemResponseDto> found = itemService.searchItems("rIL", 0, 20);
+
+        assertThat(found).extracting(ItemResponseDto::getId).containsExactly(drill.getId());
+    }
+
+    @Test
+    void searchTrigram_shouldMatchLikeQuery() {
+        for (String text : List.of("drill", "DRI", "saw", "100%", "0\\%", "s_w", "bit", "missing")) {
+            List<Long> expected = itemRepository.search(text, 0, 100).stream()
+                    .map(Item::getId)
+                    .toList();
+            List<Long> actual = itemRepository.searchTrigram(text, 0, 100).stream()
+                    .map(Item::getId)
+                    .toList();
+            assertThat(actual).as("search for '%s'", text).isEqualTo(expected);
+        }
+    }
+
+    private Item createItem(User owner, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        return itemRepository.save(item);
+    }
+}